@@ -0,0 +1,27 @@
+package com.cavin.salary_slip.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Extra header names accepted for each employee field, keyed by field name
+ * (e.g. {@code salary.slip.excel.schema.aliases.basic=Basic Pay,Basic Salary}).
+ */
+@Component
+@ConfigurationProperties(prefix = "salary.slip.excel.schema")
+public class ExcelSchemaProperties {
+
+    private Map<String, List<String>> aliases = new HashMap<>();
+
+    public Map<String, List<String>> getAliases() {
+        return aliases;
+    }
+
+    public void setAliases(Map<String, List<String>> aliases) {
+        this.aliases = aliases;
+    }
+}
@@ -0,0 +1,56 @@
+package com.cavin.salary_slip.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Password protection of generated slips ({@code salary.slip.encryption.*}). Every
+ * slip is opened with its own user password, derived from the employee row, while
+ * the owner password is shared by the whole batch.
+ */
+@Component
+@ConfigurationProperties(prefix = "salary.slip.encryption")
+public class SlipEncryptionProperties {
+
+    public static final String PASSWORD_PAN = "pan";
+    public static final String PASSWORD_EMP_ID = "empId";
+
+    private boolean enabled;
+    // "pan" or "empId"
+    private String userPassword = PASSWORD_PAN;
+    private String ownerPassword = "";
+    // AES key length, 128 or 256
+    private int keyLength = 128;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getUserPassword() {
+        return userPassword;
+    }
+
+    public void setUserPassword(String userPassword) {
+        this.userPassword = userPassword;
+    }
+
+    public String getOwnerPassword() {
+        return ownerPassword;
+    }
+
+    public void setOwnerPassword(String ownerPassword) {
+        this.ownerPassword = ownerPassword;
+    }
+
+    public int getKeyLength() {
+        return keyLength;
+    }
+
+    public void setKeyLength(int keyLength) {
+        this.keyLength = keyLength;
+    }
+}
@@ -0,0 +1,114 @@
+package com.cavin.salary_slip.config;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executor shared by every slip batch (uploads, scheduled runs and multi-sheet runs).
+ * "fixed" renders on {@code salary.slip.scheduler.pool-size} platform threads,
+ * "virtual" starts a virtual thread per slip.
+ * <p>
+ * Sheets of a multi-sheet workbook are parsed and rendered on a shared pool of
+ * {@code salary.slip.sheets.workers} threads (the number of cores when 0), so
+ * concurrent multi-sheet requests queue for those threads instead of each starting
+ * its own pool. Tasks on it never wait for other tasks on it.
+ * <p>
+ * Asynchronous generation jobs run on a separate, bounded executor: at most
+ * {@code salary.slip.jobs.workers} batches run at once and at most
+ * {@code salary.slip.jobs.queue-capacity} wait, beyond which new jobs are rejected.
+ */
+@Configuration
+public class SlipExecutorConfig {
+
+    public static final String EXECUTOR_FIXED = "fixed";
+    public static final String EXECUTOR_VIRTUAL = "virtual";
+
+    private static final Logger logger = LoggerFactory.getLogger(SlipExecutorConfig.class);
+
+    @Value("${salary.slip.batch.executor:fixed}")
+    private String executorType;
+
+    @Value("${salary.slip.scheduler.pool-size:5}")
+    private int poolSize;
+
+    @Value("${salary.slip.scheduler.thread-name-prefix:SalarySlipScheduler-}")
+    private String threadNamePrefix;
+
+    @Value("${salary.slip.scheduler.await-termination:60}")
+    private long awaitTerminationSeconds;
+
+    @Value("${salary.slip.jobs.workers:2}")
+    private int jobWorkers;
+
+    @Value("${salary.slip.jobs.queue-capacity:8}")
+    private int jobQueueCapacity;
+
+    @Value("${salary.slip.sheets.workers:0}")
+    private int sheetWorkers;
+
+    private ExecutorService slipExecutor;
+    private ExecutorService sheetExecutor;
+    private ExecutorService jobExecutor;
+
+    @Bean(destroyMethod = "")
+    public ExecutorService slipExecutor() {
+        if (EXECUTOR_VIRTUAL.equalsIgnoreCase(executorType)) {
+            slipExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(threadNamePrefix, 0).factory());
+            logger.info("Rendering slips on virtual threads");
+        } else {
+            int threads = Math.max(1, poolSize);
+            slipExecutor = Executors.newFixedThreadPool(threads, Thread.ofPlatform().name(threadNamePrefix, 0).factory());
+            logger.info("Rendering slips on {} threads", threads);
+        }
+        return slipExecutor;
+    }
+
+    @Bean(destroyMethod = "")
+    public ExecutorService sheetExecutor() {
+        int threads = sheetWorkers > 0 ? sheetWorkers : Runtime.getRuntime().availableProcessors();
+        sheetExecutor = Executors.newFixedThreadPool(threads, Thread.ofPlatform().name("slip-sheet-", 0).factory());
+        logger.info("Processing workbook sheets on {} threads", threads);
+        return sheetExecutor;
+    }
+
+    // Rejects with RejectedExecutionException when every worker is busy and the queue is full
+    @Bean(destroyMethod = "")
+    public ExecutorService jobExecutor() {
+        int workers = Math.max(1, jobWorkers);
+        jobExecutor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, jobQueueCapacity)),
+                Thread.ofPlatform().name("slip-job-", 0).factory(), new ThreadPoolExecutor.AbortPolicy());
+        logger.info("Running generation jobs on {} threads, up to {} queued", workers, jobQueueCapacity);
+        return jobExecutor;
+    }
+
+    // Let running batches finish before the context goes away; jobs and sheets first, since they feed the slip executor
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        shutdown(jobExecutor, "Job executor", "jobs");
+        shutdown(sheetExecutor, "Sheet executor", "sheets");
+        shutdown(slipExecutor, "Slip executor", "slips");
+    }
+
+    private void shutdown(ExecutorService executor, String name, String work) throws InterruptedException {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        if (!executor.awaitTermination(awaitTerminationSeconds, TimeUnit.SECONDS)) {
+            logger.warn("{} did not terminate within {} seconds, cancelling remaining {}",
+                    name, awaitTerminationSeconds, work);
+            executor.shutdownNow();
+        }
+    }
+}
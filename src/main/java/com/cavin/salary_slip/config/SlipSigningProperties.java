@@ -0,0 +1,81 @@
+package com.cavin.salary_slip.config;
+
+import com.cavin.salary_slip.constants.AppConstants;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Digital signing of generated slips ({@code salary.slip.signing.*}) with a key from
+ * a local PKCS#12 keystore. The keystore may be a file path or a
+ * {@code classpath:} location.
+ */
+@Component
+@ConfigurationProperties(prefix = "salary.slip.signing")
+public class SlipSigningProperties {
+
+    private boolean enabled;
+    private String keystore = "";
+    private String keystorePassword = "";
+    // First key entry of the keystore when empty
+    private String keyAlias = "";
+    // Keystore password when empty
+    private String keyPassword = "";
+    private String reason = AppConstants.RIGHT_SIGNATURE;
+    private String location = "";
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getKeystore() {
+        return keystore;
+    }
+
+    public void setKeystore(String keystore) {
+        this.keystore = keystore;
+    }
+
+    public String getKeystorePassword() {
+        return keystorePassword;
+    }
+
+    public void setKeystorePassword(String keystorePassword) {
+        this.keystorePassword = keystorePassword;
+    }
+
+    public String getKeyAlias() {
+        return keyAlias;
+    }
+
+    public void setKeyAlias(String keyAlias) {
+        this.keyAlias = keyAlias;
+    }
+
+    public String getKeyPassword() {
+        return keyPassword;
+    }
+
+    public void setKeyPassword(String keyPassword) {
+        this.keyPassword = keyPassword;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+}
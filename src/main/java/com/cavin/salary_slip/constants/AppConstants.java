@@ -15,8 +15,45 @@ public final class AppConstants {
     // File and Directory Constants
     public static final String TEMP_FILE_PREFIX = "upload_";
     public static final String TEMP_FILE_SUFFIX = ".xlsx";
+    public static final String CSV_TEMP_FILE_SUFFIX = ".csv";
     public static final String PDF_FILE_SUFFIX = "_SalarySlip.pdf";
+    public static final String COMBINED_PDF_FILE_NAME = "SalarySlips.pdf";
+    public static final String ZIP_FILE_NAME = "SalarySlips.zip";
+    public static final String ZIP_FAILURES_ENTRY = "failures.txt";
+    public static final String ZIP_CONTENT_TYPE = "application/zip";
+    public static final String XLSX_CONTENT_TYPE = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+    public static final String CSV_CONTENT_TYPE = "text/csv";
     public static final String BATCH_PREFIX = "batch_";
+    public static final String MANIFEST_FILE_NAME = "slip-manifest.json";
+    public static final String REGISTER_FILE_NAME = "PayrollRegister";
+    public static final String UNKNOWN_MONTH = "unknown";
+
+    // Bump whenever the rendered slip layout changes so incremental runs re-render every slip
+    public static final int SLIP_LAYOUT_VERSION = 2;
+
+    // Input Format Constants
+    public static final String INPUT_FORMAT_AUTO = "auto";
+    public static final String INPUT_FORMAT_CSV = "csv";
+    public static final String INPUT_FORMAT_XLSX = "xlsx";
+
+    // Output Sink Constants
+    public static final String SINK_DIRECTORY = "directory";
+    public static final String SINK_ZIP = "zip";
+    public static final String SINK_COMBINED = "combined";
+    public static final String SINK_MEMORY = "memory";
+
+    // Payroll Register Constants
+    public static final String REGISTER_FORMAT_JSON = "json";
+    public static final String REGISTER_FORMAT_PDF = "pdf";
+    public static final String REGISTER_FORMAT_XLSX = "xlsx";
+    public static final String REGISTER_TITLE = "Payroll Register";
+    public static final String REGISTER_COMPONENT_HEADER = "Component";
+    public static final String REGISTER_AMOUNT_HEADER = "Amount (Rs.)";
+    public static final String REGISTER_HEADCOUNT_LABEL = "Headcount";
+    public static final String REGISTER_NET_PAYOUT_LABEL = "Net Payout";
+    public static final String REGISTER_PERIOD_LABEL = "Period";
+    public static final String REGISTER_DESIGNATION_SHEET = "By Designation";
+    public static final String REGISTER_SUMMARY_SHEET = "Summary";
 
     // Date Format Constants
     public static final String TIMESTAMP_FORMAT = "yyyy-MM-dd_HHmmss";
@@ -35,6 +72,7 @@ public final class AppConstants {
     public static final float HEADER_CELL_PADDING = 6f;
     public static final int FONT_SIZE_NORMAL = 9;
     public static final int FONT_SIZE_HEADER = 12;
+    public static final int FONT_SIZE_SIGNATURE = 10;
 
     // PDF Table Constants
     public static final float TABLE_WIDTH_PERCENTAGE = 100f;
@@ -68,8 +106,17 @@ public final class AppConstants {
 
     // API Response Messages
     public static final String SUCCESS_MESSAGE_FORMAT = "Successfully generated %d salary slips in directory: %s";
+    public static final String PARTIAL_SUCCESS_MESSAGE_FORMAT = "Generated %d salary slips in directory: %s, %d slips failed";
+    public static final String MULTI_SHEET_SUCCESS_FORMAT = "Successfully generated %d salary slips for %d sheets in directory: %s";
     public static final String DIR_CREATE_ERROR = "Failed to create output directory";
+    public static final String REGISTER_WARNING_FORMAT = "%s; payroll register could not be written: %s";
     public static final String GENERATE_ERROR_FORMAT = "Error generating salary slips: %s";
+    public static final String JOB_QUEUED_FORMAT = "Generation job %s queued, writing to directory: %s";
+    public static final String JOB_REJECTED_MESSAGE = "Too many generation jobs are queued, try again later";
+    public static final String JOB_NOT_FOUND_FORMAT = "No generation job with id %s";
+    public static final String EMPLOYEE_NOT_FOUND_FORMAT = "No employee with id %s in %s";
+    // Seconds a client is asked to wait before resubmitting a rejected job
+    public static final int JOB_RETRY_AFTER_SECONDS = 30;
 
     // Table Header Labels
     public static final String EARNINGS_HEADER = "Earning (Rs.)";
@@ -92,6 +139,8 @@ public final class AppConstants {
     // Signature Section Labels
     public static final String LEFT_SIGNATURE = "SR. Manager Finance & Accounting";
     public static final String RIGHT_SIGNATURE = "Director Finance";
+    public static final float SIGNATURE_SPACING = 30f;
+    public static final String SIGNATURE_FIELD_NAME = "DirectorFinanceSignature";
 
     // PDF Layout Constants
     public static final String NEW_LINE = "\n";
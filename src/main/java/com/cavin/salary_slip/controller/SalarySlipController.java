@@ -1,32 +1,65 @@
 package com.cavin.salary_slip.controller;
 
 import com.cavin.salary_slip.constants.AppConstants;
-import com.cavin.salary_slip.model.Employee;
+import com.cavin.salary_slip.model.BatchSummary;
+import com.cavin.salary_slip.model.JobStatus;
+import com.cavin.salary_slip.model.PayrollSummary;
+import com.cavin.salary_slip.model.SheetInfo;
+import com.cavin.salary_slip.service.CsvReaderService;
 import com.cavin.salary_slip.service.ExcelReaderService;
-import com.cavin.salary_slip.service.PdfService;
+import com.cavin.salary_slip.service.MultiSheetBatchService;
+import com.cavin.salary_slip.service.PayrollRegisterService;
+import com.cavin.salary_slip.service.PayrollSummaryService;
+import com.cavin.salary_slip.service.SingleSlipService;
+import com.cavin.salary_slip.service.SlipPipelineService;
+import com.cavin.salary_slip.service.SlipSource;
+import com.cavin.salary_slip.service.excel.SheetNotFoundException;
+import com.cavin.salary_slip.service.job.GenerationJob;
+import com.cavin.salary_slip.service.job.GenerationJobService;
+import com.cavin.salary_slip.service.payroll.PayrollColumns;
+import com.cavin.salary_slip.service.sink.SlipSink;
+import com.cavin.salary_slip.service.sink.ZipSlipSink;
+import com.cavin.salary_slip.service.upload.SpooledUpload;
+import com.cavin.salary_slip.service.upload.UploadSpooler;
+import com.cavin.salary_slip.service.upload.UploadTooLargeException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.parameters.RequestBody;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.File;
-import java.nio.file.Files;
-import java.nio.file.Path;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/salary-slip")
@@ -36,18 +69,39 @@ public class SalarySlipController {
     private static final Logger logger = LoggerFactory.getLogger(SalarySlipController.class);
 
     private final ExcelReaderService excelReaderService;
-    private final PdfService pdfService;
+    private final CsvReaderService csvReaderService;
+    private final MultiSheetBatchService multiSheetBatchService;
+    private final SlipPipelineService slipPipelineService;
+    private final PayrollSummaryService payrollSummaryService;
+    private final PayrollRegisterService payrollRegisterService;
+    private final GenerationJobService generationJobService;
+    private final SingleSlipService singleSlipService;
+    private final UploadSpooler uploadSpooler;
+    private final ObjectMapper objectMapper;
 
     @Value("${salary.slip.output.dir}")
     private String baseOutputDir;
 
-    public SalarySlipController(ExcelReaderService excelReaderService, PdfService pdfService) {
+    public SalarySlipController(ExcelReaderService excelReaderService, CsvReaderService csvReaderService,
+                                MultiSheetBatchService multiSheetBatchService, SlipPipelineService slipPipelineService,
+                                PayrollSummaryService payrollSummaryService,
+                                PayrollRegisterService payrollRegisterService,
+                                GenerationJobService generationJobService, SingleSlipService singleSlipService,
+                                UploadSpooler uploadSpooler, ObjectMapper objectMapper) {
         this.excelReaderService = excelReaderService;
-        this.pdfService = pdfService;
+        this.csvReaderService = csvReaderService;
+        this.multiSheetBatchService = multiSheetBatchService;
+        this.slipPipelineService = slipPipelineService;
+        this.payrollSummaryService = payrollSummaryService;
+        this.payrollRegisterService = payrollRegisterService;
+        this.generationJobService = generationJobService;
+        this.singleSlipService = singleSlipService;
+        this.uploadSpooler = uploadSpooler;
+        this.objectMapper = objectMapper;
     }
 
-    @Operation(summary = "Generate salary slips from Excel file",
-            description = "Upload an Excel file containing employee salary data and generate PDF salary slips")
+    @Operation(summary = "Generate salary slips from Excel or CSV file",
+            description = "Upload an Excel (.xlsx) or CSV (.csv) file containing employee salary data and generate PDF salary slips")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully generated salary slips",
                     content = @Content(mediaType = "application/json",
@@ -61,67 +115,335 @@ public class SalarySlipController {
     })
     @PostMapping(value = "/generate", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<?> generateSalarySlips(
-            @Parameter(description = "Excel file containing employee salary data", required = true)
+            @Parameter(description = "Excel or CSV file containing employee salary data", required = true)
             @RequestParam("file") MultipartFile excelFile,
-            @Parameter(description = "Name of the sheet to process (defaults to current month if not specified)")
+            @Parameter(description = "Name of the sheet to process (defaults to current month if not specified, ignored for CSV)")
             @RequestParam(value = "sheetName", required = false) String sheetName) {
+        SpooledUpload upload = null;
         try {
-            // Create unique output directory with timestamp
-            LocalDateTime now = LocalDateTime.now();
-            String timestamp = now.format(AppConstants.TIMESTAMP_FORMATTER);
-            String uniqueOutputDir = baseOutputDir + AppConstants.BATCH_PREFIX + timestamp + "/";
+            upload = uploadSpooler.spool(excelFile);
+            return generate(upload, sheetName);
+        } catch (Exception e) {
+            String errorMessage = String.format(AppConstants.GENERATE_ERROR_FORMAT, e.getMessage());
+            logger.error(errorMessage, e);
+            return ResponseEntity.badRequest()
+                    .body(new Response(false, errorMessage, 0));
+        } finally {
+            release(upload);
+        }
+    }
 
-            File dir = new File(uniqueOutputDir);
-            if (!dir.exists()) {
-                boolean created = dir.mkdirs();
-                if (!created) {
-                    logger.error(AppConstants.DIR_CREATE_ERROR + ": {}", uniqueOutputDir);
-                    return ResponseEntity.internalServerError()
-                            .body(new Response(false, AppConstants.DIR_CREATE_ERROR, 0));
-                }
+    @Operation(summary = "Generate salary slips from a streamed Excel or CSV body",
+            description = "Send the Excel (.xlsx) or CSV (.csv) file itself as the request body instead of a multipart "
+                    + "form. The body is copied in small chunks to a single temporary file, so files larger than the "
+                    + "multipart limit can be uploaded, up to salary.slip.upload.max-size.",
+            requestBody = @RequestBody(description = "The Excel or CSV file", required = true, content = {
+                    @Content(mediaType = AppConstants.XLSX_CONTENT_TYPE),
+                    @Content(mediaType = AppConstants.CSV_CONTENT_TYPE),
+                    @Content(mediaType = MediaType.APPLICATION_OCTET_STREAM_VALUE)}))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully generated salary slips",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = Response.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input or processing error",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = Response.class))),
+            @ApiResponse(responseCode = "413", description = "The body exceeds salary.slip.upload.max-size",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = Response.class)))
+    })
+    @PostMapping(value = "/generate/stream", consumes = {AppConstants.XLSX_CONTENT_TYPE, AppConstants.CSV_CONTENT_TYPE,
+            MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<?> generateSalarySlipsFromStream(
+            @Parameter(description = "Name of the uploaded file; a .csv name selects the CSV reader like a text/csv body")
+            @RequestParam(value = "fileName", required = false) String fileName,
+            @Parameter(description = "Name of the sheet to process (defaults to current month if not specified, ignored for CSV)")
+            @RequestParam(value = "sheetName", required = false) String sheetName,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            @Parameter(hidden = true) InputStream body) {
+        SpooledUpload upload = null;
+        try {
+            boolean csv = CsvReaderService.isCsvFile(fileName)
+                    || MediaType.parseMediaType(AppConstants.CSV_CONTENT_TYPE).includes(contentType);
+            upload = uploadSpooler.spool(body, fileName, csv);
+            return generate(upload, sheetName);
+        } catch (UploadTooLargeException e) {
+            logger.warn(e.getMessage());
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                    .body(new Response(false, e.getMessage(), 0));
+        } catch (Exception e) {
+            String errorMessage = String.format(AppConstants.GENERATE_ERROR_FORMAT, e.getMessage());
+            logger.error(errorMessage, e);
+            return ResponseEntity.badRequest()
+                    .body(new Response(false, errorMessage, 0));
+        } finally {
+            release(upload);
+        }
+    }
+
+    // Generates the slips and register of an upload into a new batch directory
+    private ResponseEntity<?> generate(SpooledUpload upload, String sheetName) throws Exception {
+        // Create unique output directory with timestamp
+        LocalDateTime now = LocalDateTime.now();
+        String timestamp = now.format(AppConstants.TIMESTAMP_FORMATTER);
+        String uniqueOutputDir = baseOutputDir + AppConstants.BATCH_PREFIX + timestamp + "/";
+
+        File dir = new File(uniqueOutputDir);
+        if (!dir.exists()) {
+            boolean created = dir.mkdirs();
+            if (!created) {
+                logger.error(AppConstants.DIR_CREATE_ERROR + ": {}", uniqueOutputDir);
+                return ResponseEntity.internalServerError()
+                        .body(new Response(false, AppConstants.DIR_CREATE_ERROR, 0));
             }
+        }
+
+        // Get current month name if no sheet specified
+        if (sheetName == null || sheetName.isEmpty()) {
+            sheetName = now.format(AppConstants.MONTH_YEAR_FORMATTER);
+            logger.info("No sheet specified, defaulting to current month: {}", sheetName);
+        }
+
+        // Rows are rendered and written while the file is still being read
+        PayrollColumns.Builder register = PayrollColumns.builder();
+        SlipSource source = payrollRegisterService.collecting(slipSource(upload, sheetName), register);
+        BatchSummary summary = slipPipelineService.run(source, uniqueOutputDir);
+        logger.info("First slip written after {} ms, batch took {} ms",
+                summary.firstSlipMillis(), summary.elapsedMillis());
+        String registerWarning = payrollRegisterService.generateForBatch(register.build(), summary.failures(),
+                sheetName, uniqueOutputDir);
+
+        if (summary.failed() > 0) {
+            String partialMessage = withRegisterWarning(String.format(AppConstants.PARTIAL_SUCCESS_MESSAGE_FORMAT,
+                    summary.succeeded(), uniqueOutputDir, summary.failed()), registerWarning);
+            logger.warn(partialMessage);
+            return ResponseEntity.ok()
+                    .body(new Response(false, partialMessage, summary.succeeded(), summary.failures()));
+        }
+
+        String successMessage = withRegisterWarning(String.format(AppConstants.SUCCESS_MESSAGE_FORMAT,
+                summary.succeeded(), uniqueOutputDir), registerWarning);
+        logger.info(successMessage);
+
+        return ResponseEntity.ok()
+                .body(new Response(true, successMessage, summary.succeeded()));
+    }
+
+    @Operation(summary = "Submit an asynchronous salary slip generation job",
+            description = "Upload an Excel (.xlsx) or CSV (.csv) file and return at once with the id of a job that "
+                    + "generates the slips and payroll register in the background. Poll /jobs/{id} or stream "
+                    + "/jobs/{id}/events for progress.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Job queued",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = JobStatus.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = Response.class))),
+            @ApiResponse(responseCode = "503", description = "Too many jobs queued, retry after the Retry-After delay",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = Response.class)))
+    })
+    @PostMapping(value = "/jobs", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> submitGenerationJob(
+            @Parameter(description = "Excel or CSV file containing employee salary data", required = true)
+            @RequestParam("file") MultipartFile excelFile,
+            @Parameter(description = "Name of the sheet to process (defaults to current month if not specified, ignored for CSV)")
+            @RequestParam(value = "sheetName", required = false) String sheetName) {
+        SpooledUpload upload = null;
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            String jobId = generationJobService.newJobId();
+            // Jobs submitted in the same second must not share a directory
+            String uniqueOutputDir = baseOutputDir + AppConstants.BATCH_PREFIX + now.format(AppConstants.TIMESTAMP_FORMATTER)
+                    + "_" + jobId.substring(0, 8) + "/";
 
-            // Save the uploaded file temporarily
-            Path tempPath = Files.createTempFile(AppConstants.TEMP_FILE_PREFIX, AppConstants.TEMP_FILE_SUFFIX);
-            excelFile.transferTo(tempPath.toFile());
+            // The job deletes the uploaded file when it is done
+            upload = uploadSpooler.spool(excelFile);
 
-            // Get current month name if no sheet specified
             if (sheetName == null || sheetName.isEmpty()) {
                 sheetName = now.format(AppConstants.MONTH_YEAR_FORMATTER);
                 logger.info("No sheet specified, defaulting to current month: {}", sheetName);
             }
 
-            // Try to read from specified sheet, fall back to first sheet if not found
-            List<Employee> employees;
-            try {
-                employees = excelReaderService.readEmployeesFromExcel(tempPath.toString(), sheetName);
-                logger.info("Reading from sheet: {}", sheetName);
-            } catch (IllegalArgumentException e) {
-                employees = excelReaderService.readEmployeesFromExcel(tempPath.toString());
-                logger.warn("Sheet {} not found, using default sheet", sheetName);
-            }
+            GenerationJob job = generationJobService.submit(jobId, slipSource(upload, sheetName), uniqueOutputDir,
+                    sheetName, upload::close);
+            upload = null;
+
+            logger.info(String.format(AppConstants.JOB_QUEUED_FORMAT, jobId, uniqueOutputDir));
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/salary-slip/jobs/" + jobId))
+                    .body(job.status());
+
+        } catch (RejectedExecutionException e) {
+            logger.warn(AppConstants.JOB_REJECTED_MESSAGE);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(AppConstants.JOB_RETRY_AFTER_SECONDS))
+                    .body(new Response(false, AppConstants.JOB_REJECTED_MESSAGE, 0));
+        } catch (Exception e) {
+            String errorMessage = String.format(AppConstants.GENERATE_ERROR_FORMAT, e.getMessage());
+            logger.error(errorMessage, e);
+            return ResponseEntity.badRequest()
+                    .body(new Response(false, errorMessage, 0));
+        } finally {
+            release(upload);
+        }
+    }
+
+    @Operation(summary = "Get the status of a generation job",
+            description = "Rows parsed, slips rendered and written, failures and throughput of a submitted job")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Current job status",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = JobStatus.class))),
+            @ApiResponse(responseCode = "404", description = "Unknown or expired job id",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = Response.class)))
+    })
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<?> getGenerationJob(
+            @Parameter(description = "Job id returned on submission", required = true)
+            @PathVariable("id") String id) {
+        GenerationJob job = generationJobService.find(id);
+        if (job == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new Response(false, String.format(AppConstants.JOB_NOT_FOUND_FORMAT, id), 0));
+        }
+        return ResponseEntity.ok(job.status());
+    }
+
+    @Operation(summary = "Stream the progress of a generation job",
+            description = "Server-sent \"progress\" events carrying the job status, ending with the final status "
+                    + "once the job has finished")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Progress event stream",
+                    content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                            schema = @Schema(implementation = JobStatus.class))),
+            @ApiResponse(responseCode = "404", description = "Unknown or expired job id")
+    })
+    @GetMapping(value = "/jobs/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamGenerationJob(
+            @Parameter(description = "Job id returned on submission", required = true)
+            @PathVariable("id") String id) {
+        GenerationJob job = generationJobService.find(id);
+        if (job == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(generationJobService.subscribe(job));
+    }
 
-            // Generate PDF for each employee
-            for (Employee emp : employees) {
-                String pdfPath = uniqueOutputDir + emp.getEmployeeName() + AppConstants.PDF_FILE_SUFFIX;
-                pdfService.generateSalarySlip(emp, pdfPath);
-                logger.info("Generated slip for: {} in directory: {}", emp.getEmployeeName(), uniqueOutputDir);
+    @Operation(summary = "Generate salary slips as a ZIP download",
+            description = "Upload an Excel (.xlsx) or CSV (.csv) file and receive the PDF salary slips as a ZIP archive "
+                    + "that is streamed while the slips are rendered. Nothing is stored in the output directory.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "ZIP archive with one PDF per employee",
+                    content = @Content(mediaType = AppConstants.ZIP_CONTENT_TYPE)),
+            @ApiResponse(responseCode = "400", description = "Invalid input or processing error",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = Response.class)))
+    })
+    @PostMapping(value = "/generate/zip", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<StreamingResponseBody> generateSalarySlipsZip(
+            @Parameter(description = "Excel or CSV file containing employee salary data", required = true)
+            @RequestParam("file") MultipartFile excelFile,
+            @Parameter(description = "Name of the sheet to process (defaults to current month if not specified, ignored for CSV)")
+            @RequestParam(value = "sheetName", required = false) String sheetName) {
+        SpooledUpload upload = null;
+        try {
+            upload = uploadSpooler.spool(excelFile);
+
+            if (sheetName == null || sheetName.isEmpty()) {
+                sheetName = LocalDateTime.now().format(AppConstants.MONTH_YEAR_FORMATTER);
+                logger.info("No sheet specified, defaulting to current month: {}", sheetName);
+            }
+            // Fail while an error response can still be sent, not halfway through the download
+            if (!upload.isCsv()) {
+                excelReaderService.getSheetNames(upload.getPath().toString());
             }
 
-            // Clean up the temporary file
-            Files.deleteIfExists(tempPath);
+            SlipSource source = slipSource(upload, sheetName);
+            SpooledUpload uploadedFile = upload;
+            StreamingResponseBody body = out -> {
+                // Push each finished slip to the client; the response stream is closed by the container
+                try (ZipSlipSink zip = new ZipSlipSink(StreamUtils.nonClosing(out), true, AppConstants.ZIP_FILE_NAME)) {
+                    BatchSummary summary = slipPipelineService.run(source, zip);
+                    logger.info("Streamed {} salary slips ({} failed) in {} ms",
+                            summary.succeeded(), summary.failed(), summary.elapsedMillis());
+                } catch (IOException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new IOException(String.format(AppConstants.GENERATE_ERROR_FORMAT, e.getMessage()), e);
+                } finally {
+                    uploadedFile.close();
+                }
+            };
+            upload = null;
 
-            String successMessage = String.format(AppConstants.SUCCESS_MESSAGE_FORMAT, employees.size(), uniqueOutputDir);
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + AppConstants.ZIP_FILE_NAME + "\"")
+                    .contentType(MediaType.parseMediaType(AppConstants.ZIP_CONTENT_TYPE))
+                    .body(body);
+
+        } catch (Exception e) {
+            String errorMessage = String.format(AppConstants.GENERATE_ERROR_FORMAT, e.getMessage());
+            logger.error(errorMessage, e);
+            // The streaming return type needs the JSON error written by hand
+            Response response = new Response(false, errorMessage, 0);
+            return ResponseEntity.badRequest()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(out -> objectMapper.writeValue(out, response));
+        } finally {
+            release(upload);
+        }
+    }
+
+    @Operation(summary = "Generate salary slips for several months of a workbook",
+            description = "Upload an Excel file and generate slips for the listed sheets (or every sheet) in one pass, "
+                    + "with one subdirectory per sheet")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully generated salary slips",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = Response.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input or processing error",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = Response.class)))
+    })
+    @PostMapping(value = "/generate/months", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> generateSalarySlipsForMonths(
+            @Parameter(description = "Excel file containing one sheet per month", required = true)
+            @RequestParam("file") MultipartFile excelFile,
+            @Parameter(description = "Sheets to process (all sheets if not specified)")
+            @RequestParam(value = "sheetNames", required = false) List<String> sheetNames) {
+        SpooledUpload upload = null;
+        try {
+            // Create unique output directory with timestamp
+            String timestamp = LocalDateTime.now().format(AppConstants.TIMESTAMP_FORMATTER);
+            String uniqueOutputDir = baseOutputDir + AppConstants.BATCH_PREFIX + timestamp + "/";
+
+            upload = uploadSpooler.spool(excelFile);
+            List<MultiSheetBatchService.SheetResult> results =
+                    multiSheetBatchService.generate(upload.getPath().toString(), sheetNames, uniqueOutputDir);
+
+            int total = results.stream().mapToInt(MultiSheetBatchService.SheetResult::slipCount).sum();
+            String registerWarning = results.stream()
+                    .filter(result -> result.registerWarning() != null)
+                    .map(result -> result.sheetName() + ": " + result.registerWarning())
+                    .reduce((first, second) -> first + ", " + second)
+                    .orElse(null);
+            String successMessage = withRegisterWarning(String.format(AppConstants.MULTI_SHEET_SUCCESS_FORMAT,
+                    total, results.size(), uniqueOutputDir), registerWarning);
             logger.info(successMessage);
 
             return ResponseEntity.ok()
-                    .body(new Response(true, successMessage, employees.size()));
+                    .body(new Response(true, successMessage, total));
 
         } catch (Exception e) {
             String errorMessage = String.format(AppConstants.GENERATE_ERROR_FORMAT, e.getMessage());
             logger.error(errorMessage, e);
             return ResponseEntity.badRequest()
                     .body(new Response(false, errorMessage, 0));
+        } finally {
+            release(upload);
         }
     }
 
@@ -139,50 +461,182 @@ public class SalarySlipController {
     public ResponseEntity<?> getSheetNames(
             @Parameter(description = "Excel file to read sheet names from", required = true)
             @RequestParam("file") MultipartFile excelFile) {
+        SpooledUpload upload = null;
         try {
-            // Save the uploaded file temporarily
-            Path tempPath = Files.createTempFile("upload_", ".xlsx");
-            excelFile.transferTo(tempPath.toFile());
+            upload = uploadSpooler.spool(excelFile);
 
             // Get sheet names
-            List<String> sheetNames = excelReaderService.getSheetNames(tempPath.toString());
+            List<String> sheetNames = excelReaderService.getSheetNames(upload.getPath().toString());
             logger.info("Found {} sheets in uploaded file", sheetNames.size());
 
-            // Clean up the temporary file
-            Files.deleteIfExists(tempPath);
-
             return ResponseEntity.ok(sheetNames);
         } catch (Exception e) {
             String errorMessage = "Error reading sheet names: " + e.getMessage();
             logger.error(errorMessage, e);
             return ResponseEntity.badRequest()
                     .body(new Response(false, errorMessage, 0));
+        } finally {
+            release(upload);
         }
     }
 
-    @Schema(description = "API Response Object")
-    private record Response(@Schema(description = "Indicates if the operation was successful") boolean success,
-                            @Schema(description = "Response message with details about the operation") String message,
-                            @Schema(description = "Number of salary slips processed") int count) {
-        private Response(boolean success, String message, int count) {
-            this.success = success;
-            this.message = message;
-            this.count = count;
+    @Operation(summary = "Get sheet metadata from Excel file",
+            description = "Upload an Excel file and retrieve sheet names with their used range and row count, without loading sheet data")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved sheet metadata",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = SheetInfo.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input or processing error",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = Response.class)))
+    })
+    @PostMapping(value = "/sheets/metadata", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> getSheetMetadata(
+            @Parameter(description = "Excel file to read sheet metadata from", required = true)
+            @RequestParam("file") MultipartFile excelFile) {
+        SpooledUpload upload = null;
+        try {
+            upload = uploadSpooler.spool(excelFile);
+
+            List<SheetInfo> sheets = excelReaderService.getSheetInfo(upload.getPath().toString());
+            logger.info("Read metadata for {} sheets in uploaded file", sheets.size());
+
+            return ResponseEntity.ok(sheets);
+        } catch (Exception e) {
+            String errorMessage = "Error reading sheet metadata: " + e.getMessage();
+            logger.error(errorMessage, e);
+            return ResponseEntity.badRequest()
+                    .body(new Response(false, errorMessage, 0));
+        } finally {
+            release(upload);
         }
+    }
 
-        @Override
-        public boolean success() {
-            return success;
+    @Operation(summary = "Summarize payroll totals from Excel or CSV file",
+            description = "Upload an Excel or CSV file and get totals, min, max and average per salary component "
+                    + "and totals per designation, without generating any slips")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully summarized the payroll",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = PayrollSummary.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input or processing error",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = Response.class)))
+    })
+    @PostMapping(value = "/summary", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> getPayrollSummary(
+            @Parameter(description = "Excel or CSV file containing employee salary data", required = true)
+            @RequestParam("file") MultipartFile excelFile,
+            @Parameter(description = "Name of the sheet to summarize (defaults to current month if not specified, ignored for CSV)")
+            @RequestParam(value = "sheetName", required = false) String sheetName) {
+        SpooledUpload upload = null;
+        try {
+            upload = uploadSpooler.spool(excelFile);
+
+            if (sheetName == null || sheetName.isEmpty()) {
+                sheetName = LocalDateTime.now().format(AppConstants.MONTH_YEAR_FORMATTER);
+            }
+            PayrollColumns columns = payrollSummaryService.load(slipSource(upload, sheetName));
+            return ResponseEntity.ok(payrollSummaryService.summarize(columns));
+        } catch (Exception e) {
+            String errorMessage = "Error summarizing payroll: " + e.getMessage();
+            logger.error(errorMessage, e);
+            return ResponseEntity.badRequest()
+                    .body(new Response(false, errorMessage, 0));
+        } finally {
+            release(upload);
         }
+    }
 
-        @Override
-        public String message() {
-            return message;
+    @Operation(summary = "Get the salary slip of one employee",
+            description = "Render the slip of one employee from the configured workbook without re-uploading it. "
+                    + "Rendered slips are cached and carry an ETag, so a client sending If-None-Match gets 304 "
+                    + "while the row, company details, logo and output settings are unchanged.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "The slip as PDF",
+                    content = @Content(mediaType = MediaType.APPLICATION_PDF_VALUE)),
+            @ApiResponse(responseCode = "304", description = "The slip matching If-None-Match is still current"),
+            @ApiResponse(responseCode = "404", description = "No such sheet or employee",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = Response.class))),
+            @ApiResponse(responseCode = "500", description = "The slip could not be rendered",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = Response.class)))
+    })
+    @GetMapping("/{month}/{empId}")
+    public ResponseEntity<?> getSalarySlip(
+            @Parameter(description = "Sheet of the month, e.g. July 2025 (ignored for CSV)", required = true)
+            @PathVariable("month") String month,
+            @Parameter(description = "Employee id", required = true)
+            @PathVariable("empId") String empId,
+            WebRequest webRequest) {
+        try {
+            SingleSlipService.SlipLookup slip = singleSlipService.find(month, empId);
+            if (slip == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(new Response(false, String.format(AppConstants.EMPLOYEE_NOT_FOUND_FORMAT, empId, month), 0));
+            }
+            // The ETag is the hash of the PDF; a cached slip answers If-None-Match without rendering
+            SingleSlipService.RenderedSlip rendered = singleSlipService.render(slip);
+            if (webRequest.checkNotModified(rendered.etag())) {
+                return null;
+            }
+            return ResponseEntity.ok()
+                    .eTag(rendered.etag())
+                    .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.inline()
+                            .filename(SlipSink.fileName(slip.employee()), StandardCharsets.UTF_8).build().toString())
+                    .contentType(MediaType.APPLICATION_PDF)
+                    .body(rendered.pdf());
+        } catch (SheetNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new Response(false, e.getMessage(), 0));
+        } catch (Exception e) {
+            String errorMessage = String.format(AppConstants.GENERATE_ERROR_FORMAT, e.getMessage());
+            logger.error(errorMessage, e);
+            return ResponseEntity.internalServerError()
+                    .body(new Response(false, errorMessage, 0));
+        }
+    }
+
+    // Streams employees from the uploaded file, falling back to the default sheet when the requested one is missing
+    private SlipSource slipSource(SpooledUpload upload, String sheetName) {
+        String filePath = upload.getPath().toString();
+        return sink -> {
+            if (upload.isCsv()) {
+                logger.info("Reading from CSV file: {}", upload.getFileName());
+                csvReaderService.streamEmployees(filePath, sink);
+                return;
+            }
+            // Try to read from specified sheet, fall back to first sheet if not found
+            try {
+                excelReaderService.streamEmployees(filePath, sheetName, sink);
+                logger.info("Read from sheet: {}", sheetName);
+            } catch (SheetNotFoundException e) {
+                logger.warn("Sheet {} not found, using default sheet", sheetName);
+                excelReaderService.streamEmployees(filePath, sink);
+            }
+        };
+    }
+
+    private static String withRegisterWarning(String message, String registerWarning) {
+        return registerWarning != null
+                ? String.format(AppConstants.REGISTER_WARNING_FORMAT, message, registerWarning) : message;
+    }
+
+    // Deletes an upload that was not handed to a download or job
+    private static void release(SpooledUpload upload) {
+        if (upload != null) {
+            upload.close();
         }
+    }
 
-        @Override
-        public int count() {
-            return count;
+    @Schema(description = "API Response Object")
+    private record Response(@Schema(description = "Indicates if the operation was successful") boolean success,
+                            @Schema(description = "Response message with details about the operation") String message,
+                            @Schema(description = "Number of salary slips processed") int count,
+                            @Schema(description = "Slips that could not be generated, in batch order") List<BatchSummary.SlipFailure> failures) {
+        private Response(boolean success, String message, int count) {
+            this(success, message, count, List.of());
         }
     }
 }
@@ -0,0 +1,44 @@
+package com.cavin.salary_slip.model;
+
+import java.util.List;
+
+/**
+ * Outcome of one slip batch. Failures are ordered by their position in the
+ * batch, so the same input always produces the same summary regardless of
+ * which worker finished first.
+ *
+ * @param succeeded       number of slips written
+ * @param bytesWritten    size of the PDFs of the written slips, before any archive or merge
+ * @param failures        slips that could not be rendered or written, in batch order
+ * @param firstSlipMillis time until the first slip was on disk, -1 if none
+ * @param elapsedMillis   total run time
+ * @param renderNanos     time spent rendering, encrypting and signing slips, summed over all workers
+ */
+public record BatchSummary(int succeeded, long bytesWritten, List<SlipFailure> failures, long firstSlipMillis,
+                           long elapsedMillis, long renderNanos) {
+
+    public int failed() {
+        return failures.size();
+    }
+
+    public int total() {
+        return succeeded + failures.size();
+    }
+
+    public long bytesPerSlip() {
+        return succeeded > 0 ? bytesWritten / succeeded : 0;
+    }
+
+    // Average cost of one slip on a worker, independent of how many workers ran
+    public double renderMillisPerSlip() {
+        return total() > 0 ? renderNanos / 1_000_000d / total() : 0d;
+    }
+
+    /**
+     * @param index        1-based position of the employee in the batch
+     * @param employeeName employee the slip was for
+     * @param message      reason the slip failed
+     */
+    public record SlipFailure(int index, String employeeName, String message) {
+    }
+}
@@ -0,0 +1,13 @@
+package com.cavin.salary_slip.model;
+
+/**
+ * A cell that could not be decoded into its target field.
+ *
+ * @param row     1-based spreadsheet row number
+ * @param column  column reference (e.g. "H")
+ * @param field   employee field the column is bound to
+ * @param value   raw cell text
+ * @param message reason the value was rejected
+ */
+public record DecodeError(int row, String column, String field, String value, String message) {
+}
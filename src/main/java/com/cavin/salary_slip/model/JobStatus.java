@@ -0,0 +1,23 @@
+package com.cavin.salary_slip.model;
+
+import java.util.List;
+
+/**
+ * Snapshot of an asynchronous generation job.
+ *
+ * @param id             job id
+ * @param state          QUEUED, RUNNING, SUCCEEDED or FAILED
+ * @param rowsParsed     rows read from the uploaded file so far
+ * @param slipsRendered  slips rendered so far, including those that failed to render
+ * @param slipsWritten   slips written to the output so far
+ * @param failed         slips that could not be generated
+ * @param slipsPerSecond slips written per second since the job started
+ * @param elapsedMillis  time since the job started, or its run time once finished
+ * @param outputDir      directory the slips are written to
+ * @param message        outcome of a finished job
+ * @param failures       failed slips in batch order, once the job has finished
+ */
+public record JobStatus(String id, String state, long rowsParsed, long slipsRendered, long slipsWritten, long failed,
+                        double slipsPerSecond, long elapsedMillis, String outputDir, String message,
+                        List<BatchSummary.SlipFailure> failures) {
+}
@@ -0,0 +1,18 @@
+package com.cavin.salary_slip.model;
+
+import java.util.List;
+
+/**
+ * Result of decoding one sheet: the employees plus any cells that could not be decoded.
+ *
+ * @param sheetName    sheet the rows were read from
+ * @param employees    decoded employees in sheet order
+ * @param decodeErrors first decode errors encountered (capped)
+ * @param errorCount   total number of decode errors, including those not retained
+ */
+public record ParsedSheet(String sheetName, List<Employee> employees, List<DecodeError> decodeErrors, int errorCount) {
+
+    public boolean hasErrors() {
+        return errorCount > 0;
+    }
+}
@@ -0,0 +1,28 @@
+package com.cavin.salary_slip.model;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Month-end payroll register of a batch. Amounts are exact rupee values with two decimals.
+ *
+ * @param period          month or sheet the batch was generated for
+ * @param headcount       number of employees whose slip was generated
+ * @param components      total per salary component, in slip order
+ * @param totalEarnings   sum of every employee's total earnings
+ * @param totalDeductions sum of every employee's total deductions
+ * @param epf             total EPF deducted
+ * @param tds             total income tax (TDS) deducted
+ * @param netPayout       sum of every employee's net salary
+ * @param designations    subtotals per designation, in order of first appearance
+ */
+public record PayrollRegister(String period, int headcount, Map<String, BigDecimal> components,
+                              BigDecimal totalEarnings, BigDecimal totalDeductions, BigDecimal epf, BigDecimal tds,
+                              BigDecimal netPayout, List<DesignationSubtotal> designations) {
+
+    public record DesignationSubtotal(String designation, int headcount, BigDecimal totalEarnings,
+                                      BigDecimal totalDeductions, BigDecimal epf, BigDecimal tds,
+                                      BigDecimal netPayout) {
+    }
+}
@@ -0,0 +1,22 @@
+package com.cavin.salary_slip.model;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Totals of a payroll batch. Amounts are exact rupee values with two decimals.
+ *
+ * @param employees    number of employees in the batch
+ * @param components   total, min, max and average per salary component
+ * @param designations per designation: head count and totals, in order of first appearance
+ */
+public record PayrollSummary(int employees, Map<String, AmountSummary> components,
+                             Map<String, DesignationSummary> designations) {
+
+    public record AmountSummary(BigDecimal total, BigDecimal min, BigDecimal max, BigDecimal average) {
+    }
+
+    public record DesignationSummary(int employees, BigDecimal totalEarnings, BigDecimal totalDeductions,
+                                     BigDecimal netSalary) {
+    }
+}
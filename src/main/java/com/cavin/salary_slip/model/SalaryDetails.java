@@ -1,78 +1,128 @@
 package com.cavin.salary_slip.model;
 
+/**
+ * Salary components held as whole paise, so sums and totals are exact. The
+ * rupee (double) accessors round to the nearest paisa on the way in.
+ */
 public class SalaryDetails {
     // Earnings
-    private double basic;
-    private double hra;  // House Rent Allowance
-    private double da;   // Dearness Allowance
-    private double specialAllowance;
-    private double travellingAllowance;
+    private long basic;
+    private long hra;  // House Rent Allowance
+    private long da;   // Dearness Allowance
+    private long specialAllowance;
+    private long travellingAllowance;
 
     // Deductions
-    private double incomeTax;
-    private double epf;
-    private double leaveDeduction;
+    private long incomeTax;
+    private long epf;
+    private long leaveDeduction;
+
+    public static long toPaise(double rupees) {
+        return Math.round(rupees * 100d);
+    }
+
+    public static double toRupees(long paise) {
+        return paise / 100d;
+    }
 
     // Getters & Setters
     public double getBasic() {
-        return basic;
+        return toRupees(basic);
     }
     public void setBasic(double basic) {
-        this.basic = basic;
+        this.basic = toPaise(basic);
     }
     public double getHra() {
-        return hra;
+        return toRupees(hra);
     }
     public void setHra(double hra) {
-        this.hra = hra;
+        this.hra = toPaise(hra);
     }
     public double getDa() {
-        return da;
+        return toRupees(da);
     }
     public void setDa(double da) {
-        this.da = da;
+        this.da = toPaise(da);
     }
     public double getSpecialAllowance() {
-        return specialAllowance;
+        return toRupees(specialAllowance);
     }
     public void setSpecialAllowance(double specialAllowance) {
-        this.specialAllowance = specialAllowance;
+        this.specialAllowance = toPaise(specialAllowance);
     }
     public double getTravellingAllowance() {
-        return travellingAllowance;
+        return toRupees(travellingAllowance);
     }
     public void setTravellingAllowance(double travellingAllowance) {
-        this.travellingAllowance = travellingAllowance;
+        this.travellingAllowance = toPaise(travellingAllowance);
     }
     public double getIncomeTax() {
-        return incomeTax;
+        return toRupees(incomeTax);
     }
     public void setIncomeTax(double incomeTax) {
-        this.incomeTax = incomeTax;
+        this.incomeTax = toPaise(incomeTax);
     }
     public double getEpf() {
-        return epf;
+        return toRupees(epf);
     }
     public void setEpf(double epf) {
-        this.epf = epf;
+        this.epf = toPaise(epf);
     }
     public double getLeaveDeduction() {
-        return leaveDeduction;
+        return toRupees(leaveDeduction);
     }
     public void setLeaveDeduction(double leaveDeduction) {
-        this.leaveDeduction = leaveDeduction;
+        this.leaveDeduction = toPaise(leaveDeduction);
+    }
+
+    // Amounts in paise
+    public long getBasicPaise() {
+        return basic;
+    }
+    public long getHraPaise() {
+        return hra;
+    }
+    public long getDaPaise() {
+        return da;
+    }
+    public long getSpecialAllowancePaise() {
+        return specialAllowance;
+    }
+    public long getTravellingAllowancePaise() {
+        return travellingAllowance;
+    }
+    public long getIncomeTaxPaise() {
+        return incomeTax;
+    }
+    public long getEpfPaise() {
+        return epf;
+    }
+    public long getLeaveDeductionPaise() {
+        return leaveDeduction;
     }
 
     // Computed values
-    public double getTotalEarnings() {
+    public long getTotalEarningsPaise() {
         return basic + hra + da + specialAllowance + travellingAllowance;
     }
 
-    public double getTotalDeductions() {
+    public long getTotalDeductionsPaise() {
         return incomeTax + epf + leaveDeduction;
     }
 
+    public long getNetSalaryPaise() {
+        return getTotalEarningsPaise() - getTotalDeductionsPaise();
+    }
+
+    public double getTotalEarnings() {
+        return toRupees(getTotalEarningsPaise());
+    }
+
+    public double getTotalDeductions() {
+        return toRupees(getTotalDeductionsPaise());
+    }
+
     public double getNetSalary() {
-        return getTotalEarnings() - getTotalDeductions();
+        return toRupees(getNetSalaryPaise());
     }
 }
@@ -0,0 +1,11 @@
+package com.cavin.salary_slip.model;
+
+/**
+ * Lightweight sheet metadata read from the workbook package without loading any cell data.
+ *
+ * @param name      sheet name as shown in Excel
+ * @param dimension used range reported by the sheet (e.g. "A1:R250"), or null if not recorded
+ * @param rowCount  number of rows spanned by the used range including the header, or -1 if unknown
+ */
+public record SheetInfo(String name, String dimension, int rowCount) {
+}
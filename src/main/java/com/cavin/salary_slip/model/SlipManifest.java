@@ -0,0 +1,45 @@
+package com.cavin.salary_slip.model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Record of the last rendered slip per month and employee, used by incremental runs
+ * to skip rows whose content has not changed.
+ */
+public class SlipManifest {
+
+    // month (yyyy-MM) -> empId -> entry
+    private Map<String, Map<String, Entry>> months = new HashMap<>();
+
+    public Map<String, Map<String, Entry>> getMonths() {
+        return months;
+    }
+
+    public void setMonths(Map<String, Map<String, Entry>> months) {
+        this.months = months;
+    }
+
+    public Entry get(String month, String empId) {
+        Map<String, Entry> entries = months.get(month);
+        return entries != null ? entries.get(empId) : null;
+    }
+
+    public void put(String month, String empId, Entry entry) {
+        months.computeIfAbsent(month, m -> new HashMap<>()).put(empId, entry);
+    }
+
+    public void remove(String month, String empId) {
+        Map<String, Entry> entries = months.get(month);
+        if (entries != null) {
+            entries.remove(empId);
+        }
+    }
+
+    /**
+     * @param hash slip fingerprint the PDF was rendered from
+     * @param path location of the most recent copy of the PDF
+     */
+    public record Entry(String hash, String path) {
+    }
+}
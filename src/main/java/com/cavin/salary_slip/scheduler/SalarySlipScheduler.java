@@ -1,9 +1,15 @@
 package com.cavin.salary_slip.scheduler;
 
 import com.cavin.salary_slip.constants.AppConstants;
+import com.cavin.salary_slip.model.BatchSummary;
 import com.cavin.salary_slip.model.Employee;
+import com.cavin.salary_slip.service.CsvReaderService;
 import com.cavin.salary_slip.service.ExcelReaderService;
-import com.cavin.salary_slip.service.PdfService;
+import com.cavin.salary_slip.service.IncrementalSlipService;
+import com.cavin.salary_slip.service.PayrollRegisterService;
+import com.cavin.salary_slip.service.SlipPipelineService;
+import com.cavin.salary_slip.service.payroll.PayrollColumns;
+import com.cavin.salary_slip.service.sink.SlipSinkFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
@@ -21,11 +27,18 @@ public class SalarySlipScheduler {
     private static final Logger logger = LoggerFactory.getLogger(SalarySlipScheduler.class);
 
     private final ExcelReaderService excelReaderService;
-    private final PdfService pdfService;
+    private final CsvReaderService csvReaderService;
+    private final SlipPipelineService slipPipelineService;
+    private final IncrementalSlipService incrementalSlipService;
+    private final SlipSinkFactory slipSinkFactory;
+    private final PayrollRegisterService payrollRegisterService;
 
     @Value("${salary.slip.excel.path}")
     private String excelPath;
 
+    @Value("${salary.slip.input.format:auto}")
+    private String inputFormat;
+
     @Value("${salary.slip.output.dir}")
     private String baseOutputDir;
 
@@ -38,9 +51,18 @@ public class SalarySlipScheduler {
     @Value("${salary.slip.generate.on.startup:false}")
     private boolean generateOnStartup;
 
-    public SalarySlipScheduler(ExcelReaderService excelReaderService, PdfService pdfService) {
+    @Value("${salary.slip.incremental.enabled:false}")
+    private boolean incrementalEnabled;
+
+    public SalarySlipScheduler(ExcelReaderService excelReaderService, CsvReaderService csvReaderService,
+                               SlipPipelineService slipPipelineService, IncrementalSlipService incrementalSlipService,
+                               SlipSinkFactory slipSinkFactory, PayrollRegisterService payrollRegisterService) {
         this.excelReaderService = excelReaderService;
-        this.pdfService = pdfService;
+        this.csvReaderService = csvReaderService;
+        this.slipPipelineService = slipPipelineService;
+        this.incrementalSlipService = incrementalSlipService;
+        this.slipSinkFactory = slipSinkFactory;
+        this.payrollRegisterService = payrollRegisterService;
     }
 
     /**
@@ -72,22 +94,47 @@ public class SalarySlipScheduler {
             // Try to read from current month's sheet, fall back to first sheet if not found
             String currentMonthSheet = now.format(AppConstants.MONTH_YEAR_FORMATTER);
             List<Employee> employees;
-            try {
-                employees = excelReaderService.readEmployeesFromExcel(excelPath, currentMonthSheet);
-                logger.info("Reading from sheet: {}", currentMonthSheet);
-            } catch (IllegalArgumentException e) {
-                employees = excelReaderService.readEmployeesFromExcel(excelPath);
-                logger.warn("Sheet {} not found, using default sheet", currentMonthSheet);
+            if (CsvReaderService.isCsvInput(inputFormat, excelPath)) {
+                employees = csvReaderService.readEmployeesFromCsv(excelPath);
+                logger.info("Reading from CSV file: {}", excelPath);
+            } else {
+                try {
+                    employees = excelReaderService.readEmployeesFromExcel(excelPath, currentMonthSheet);
+                    logger.info("Reading from sheet: {}", currentMonthSheet);
+                } catch (IllegalArgumentException e) {
+                    employees = excelReaderService.readEmployeesFromExcel(excelPath);
+                    logger.warn("Sheet {} not found, using default sheet", currentMonthSheet);
+                }
+            }
+
+            List<BatchSummary.SlipFailure> failures;
+            // A combined batch document cannot reuse pages of the previous run
+            if (incrementalEnabled && slipSinkFactory.isDirectory()) {
+                // Only re-render rows that changed since the previous run
+                failures = incrementalSlipService.generate(employees, uniqueOutputDir).failures();
+            } else {
+                // Render and write slips concurrently through the pipeline
+                failures = slipPipelineService.run(employees, uniqueOutputDir).failures();
             }
 
-            // Generate PDF for each employee
-            for (Employee emp : employees) {
-                String pdfPath = uniqueOutputDir + emp.getEmployeeName() + AppConstants.PDF_FILE_SUFFIX;
-                pdfService.generateSalarySlip(emp, pdfPath);
-                logger.info("Generated slip for: {} in directory: {}", emp.getEmployeeName(), uniqueOutputDir);
+            // The register is totalled from the rows already in memory
+            String registerWarning = null;
+            if (payrollRegisterService.isEnabled()) {
+                registerWarning = payrollRegisterService.generateForBatch(PayrollColumns.of(employees), failures,
+                        currentMonthSheet, uniqueOutputDir);
             }
 
-            String successMessage = String.format(AppConstants.SUCCESS_MESSAGE_FORMAT, employees.size(), uniqueOutputDir);
+            if (!failures.isEmpty()) {
+                logger.warn(withRegisterWarning(String.format(AppConstants.PARTIAL_SUCCESS_MESSAGE_FORMAT,
+                        employees.size() - failures.size(), uniqueOutputDir, failures.size()), registerWarning));
+                return;
+            }
+            String successMessage = withRegisterWarning(String.format(AppConstants.SUCCESS_MESSAGE_FORMAT,
+                    employees.size(), uniqueOutputDir), registerWarning);
+            if (registerWarning != null) {
+                logger.warn(successMessage);
+                return;
+            }
             logger.info(successMessage);
 
         } catch (Exception e) {
@@ -96,6 +143,11 @@ public class SalarySlipScheduler {
         }
     }
 
+    private static String withRegisterWarning(String message, String registerWarning) {
+        return registerWarning != null
+                ? String.format(AppConstants.REGISTER_WARNING_FORMAT, message, registerWarning) : message;
+    }
+
     @PostConstruct
     public void onStartup() {
         if (schedulerEnabled) {
@@ -0,0 +1,26 @@
+package com.cavin.salary_slip.service;
+
+/**
+ * Receives progress events of a running slip batch. Rows are reported by the
+ * reading thread, renders by the slip executor and writes and failures by the
+ * writer thread, so implementations must be thread-safe.
+ */
+public interface BatchProgress {
+
+    BatchProgress NONE = new BatchProgress() {
+    };
+
+    // A row was read and handed to the renderers
+    default void rowRead() {
+    }
+
+    // A slip finished rendering, successfully or not
+    default void slipRendered() {
+    }
+
+    default void slipWritten() {
+    }
+
+    default void slipFailed() {
+    }
+}
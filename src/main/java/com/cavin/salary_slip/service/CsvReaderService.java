@@ -0,0 +1,107 @@
+package com.cavin.salary_slip.service;
+
+import com.cavin.salary_slip.config.ExcelSchemaProperties;
+import com.cavin.salary_slip.constants.AppConstants;
+import com.cavin.salary_slip.model.Employee;
+import com.cavin.salary_slip.model.ParsedSheet;
+import com.cavin.salary_slip.service.csv.CsvRowStreamer;
+import com.cavin.salary_slip.service.excel.CellDecoders;
+import com.cavin.salary_slip.service.excel.EmployeeSchema;
+import com.cavin.salary_slip.service.excel.RowBindingPlan;
+import com.cavin.salary_slip.service.excel.RowCells;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Reads employees from CSV exports using the same header binding and cell decoders
+ * as the Excel reader, so both formats produce identical {@link Employee} models.
+ */
+@Service
+public class CsvReaderService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CsvReaderService.class);
+    private static final String CSV_SHEET_KEY = "csv";
+
+    private final ExcelSchemaProperties schemaProperties;
+    private final ParsedWorkbookCache parsedWorkbookCache;
+
+    public CsvReaderService(ExcelSchemaProperties schemaProperties, ParsedWorkbookCache parsedWorkbookCache) {
+        this.schemaProperties = schemaProperties;
+        this.parsedWorkbookCache = parsedWorkbookCache;
+    }
+
+    public static boolean isCsvFile(String fileName) {
+        return fileName != null && fileName.toLowerCase(Locale.ROOT).endsWith(".csv");
+    }
+
+    /**
+     * Resolves {@code salary.slip.input.format} for the configured input file: "auto"
+     * picks the reader from the file extension of {@code path}, "csv" always reads CSV.
+     */
+    public static boolean isCsvInput(String inputFormat, String path) {
+        if (AppConstants.INPUT_FORMAT_AUTO.equalsIgnoreCase(inputFormat)) {
+            return isCsvFile(path);
+        }
+        return AppConstants.INPUT_FORMAT_CSV.equalsIgnoreCase(inputFormat);
+    }
+
+    public List<Employee> readEmployeesFromCsv(String filePath) {
+        return readSheet(filePath).employees();
+    }
+
+    public ParsedSheet readSheet(String filePath) {
+        return parsedWorkbookCache.getOrLoad(filePath, CSV_SHEET_KEY, () -> parseFile(filePath));
+    }
+
+    private ParsedSheet parseFile(String filePath) {
+        List<Employee> employees = new ArrayList<>();
+        CellDecoders decoders = new CellDecoders();
+        streamEmployees(filePath, employees::add, decoders);
+        return new ParsedSheet(new File(filePath).getName(), Collections.unmodifiableList(employees),
+                List.copyOf(decoders.getErrors()), decoders.getErrorCount());
+    }
+
+    // Stream employees one at a time without materializing the whole list
+    public void streamEmployees(String filePath, Consumer<Employee> consumer) {
+        streamEmployees(filePath, consumer, new CellDecoders());
+    }
+
+    private void streamEmployees(String filePath, Consumer<Employee> consumer, CellDecoders decoders) {
+        RowBindingPlan[] plan = new RowBindingPlan[1];
+        try {
+            CsvRowStreamer.stream(new File(filePath),
+                    header -> plan[0] = compilePlan(header, decoders),
+                    row -> {
+                        // Skip empty rows
+                        if (!row.isEmpty()) {
+                            consumer.accept(plan[0].decode(row));
+                        }
+                    });
+        } catch (Exception e) {
+            throw new RuntimeException("Error reading CSV file: " + e.getMessage(), e);
+        }
+
+        if (decoders.getErrorCount() > 0) {
+            logger.warn("{} cells in {} could not be decoded, first: {}",
+                    decoders.getErrorCount(), filePath, decoders.getErrors().get(0));
+        }
+    }
+
+    private RowBindingPlan compilePlan(RowCells header, CellDecoders decoders) {
+        RowBindingPlan plan = EmployeeSchema.compile(header, schemaProperties.getAliases(), decoders);
+        if (plan.isPositional()) {
+            logger.warn("No known column headers found, using the default column layout");
+        } else if (!plan.getUnboundFields().isEmpty()) {
+            logger.warn("No column found for fields {}, they will be left empty", plan.getUnboundFields());
+        }
+        return plan;
+    }
+}
@@ -1,25 +1,61 @@
 package com.cavin.salary_slip.service;
 
+import com.cavin.salary_slip.config.ExcelSchemaProperties;
 import com.cavin.salary_slip.model.Employee;
-import com.cavin.salary_slip.model.SalaryDetails;
+import com.cavin.salary_slip.model.ParsedSheet;
+import com.cavin.salary_slip.model.SheetInfo;
+import com.cavin.salary_slip.service.excel.CellDecoders;
+import com.cavin.salary_slip.service.excel.EmployeeSchema;
+import com.cavin.salary_slip.service.excel.RowBindingPlan;
+import com.cavin.salary_slip.service.excel.RowCells;
+import com.cavin.salary_slip.service.excel.SheetNotFoundException;
+import com.cavin.salary_slip.service.excel.WorkbookMetadataReader;
+import com.cavin.salary_slip.service.excel.XlsxSheetStreamer;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.File;
 import java.io.FileInputStream;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
 
 @Service
 public class ExcelReaderService {
 
+    public static final String READ_MODE_STREAMING = "streaming";
+    public static final String READ_MODE_DOM = "dom";
+
+    private static final Logger logger = LoggerFactory.getLogger(ExcelReaderService.class);
+
+    private final ExcelSchemaProperties schemaProperties;
+    private final ParsedWorkbookCache parsedWorkbookCache;
+    private final ExecutorService sheetExecutor;
+
     @Value("${salary.slip.excel.sheet.name}")
     private String currentMonthSheet;
 
+    // "streaming" uses the XSSF event model, "dom" builds the full XSSFWorkbook
+    @Value("${salary.slip.excel.read-mode:streaming}")
+    private String readMode;
+
+    public ExcelReaderService(ExcelSchemaProperties schemaProperties, ParsedWorkbookCache parsedWorkbookCache,
+                              @Qualifier("sheetExecutor") ExecutorService sheetExecutor) {
+        this.schemaProperties = schemaProperties;
+        this.parsedWorkbookCache = parsedWorkbookCache;
+        this.sheetExecutor = sheetExecutor;
+    }
+
     // Read from default sheet (using configured sheet name)
     public List<Employee> readEmployeesFromExcel(String filePath) {
         return readEmployeesFromExcel(filePath, currentMonthSheet);
@@ -37,197 +73,195 @@ public class ExcelReaderService {
 
     // Main method that handles both sheet index and name
     private List<Employee> readEmployeesFromExcel(String filePath, int sheetIndex, String sheetName) {
-        List<Employee> employees = new ArrayList<>();
+        return readSheet(filePath, sheetIndex, sheetName).employees();
+    }
 
-        try (FileInputStream fis = new FileInputStream(filePath);
-             Workbook workbook = new XSSFWorkbook(fis)) {
+    // Read a sheet by name, keeping the cells that could not be decoded
+    public ParsedSheet readSheet(String filePath, String sheetName) {
+        return readSheet(filePath, -1, sheetName);
+    }
 
-            // Get the sheet either by name or index
-            Sheet sheet;
-            if (sheetName != null && !sheetName.isEmpty()) {
-                sheet = workbook.getSheet(sheetName);
-                if (sheet == null) {
-                    throw new IllegalArgumentException("Sheet not found: " + sheetName);
-                }
-            } else {
-                if (sheetIndex >= workbook.getNumberOfSheets()) {
-                    throw new IllegalArgumentException("Invalid sheet index: " + sheetIndex);
-                }
-                sheet = workbook.getSheetAt(sheetIndex);
-            }
+    private ParsedSheet readSheet(String filePath, int sheetIndex, String sheetName) {
+        String sheetKey = sheetName != null && !sheetName.isEmpty() ? "name:" + sheetName : "index:" + sheetIndex;
+        return parsedWorkbookCache.getOrLoad(filePath, sheetKey, () -> parseSheet(filePath, sheetIndex, sheetName));
+    }
 
-            Iterator<Row> rows = sheet.iterator();
+    private ParsedSheet parseSheet(String filePath, int sheetIndex, String sheetName) {
+        List<Employee> employees = new ArrayList<>();
+        CellDecoders decoders = new CellDecoders();
+        String resolvedName = streamEmployees(filePath, sheetIndex, sheetName, employees::add, decoders);
+        return new ParsedSheet(resolvedName, Collections.unmodifiableList(employees), List.copyOf(decoders.getErrors()), decoders.getErrorCount());
+    }
 
-            // skip header row
-            if (rows.hasNext()) {
-                rows.next();
-            }
+    // Stream employees of the default sheet (using configured sheet name)
+    public void streamEmployees(String filePath, Consumer<Employee> consumer) {
+        streamEmployees(filePath, currentMonthSheet, consumer);
+    }
 
-            while (rows.hasNext()) {
-                Row row = rows.next();
+    // Stream employees of a sheet one at a time without materializing the whole list
+    public void streamEmployees(String filePath, String sheetName, Consumer<Employee> consumer) {
+        streamEmployees(filePath, -1, sheetName, consumer, new CellDecoders());
+    }
 
-                // Skip empty rows
-                if (isRowEmpty(row)) {
-                    continue;
-                }
+    private String streamEmployees(String filePath, int sheetIndex, String sheetName, Consumer<Employee> consumer,
+                                   CellDecoders decoders) {
+        Consumer<RowCells> rowHandler = newRowHandler(consumer, decoders);
 
-                Employee employee = new Employee();
-                SalaryDetails salary = new SalaryDetails();
-
-                employee.setEmpId(getStringValue(row.getCell(0)));
-                employee.setEmployeeName(getStringValue(row.getCell(1)));
-                employee.setDesignation(getStringValue(row.getCell(2)));
-                employee.setBankAccountNo(getStringValue(row.getCell(3)));
-                employee.setIfscCode(getStringValue(row.getCell(4)));
-                employee.setUanNo(getStringValue(row.getCell(5)));
-                employee.setPayableDays((int) getNumericValue(row.getCell(6)));
-
-                // Month/Year as Date
-                Cell dateCell = row.getCell(7);
-                employee.setSalaryDate(getDateValue(dateCell));
-
-                employee.setPanNo(getStringValue(row.getCell(8)));
-                employee.setAadharNo(getStringValue(row.getCell(9)));
-
-                // Salary details
-                salary.setBasic(getNumericValue(row.getCell(10)));
-                salary.setHra(getNumericValue(row.getCell(11)));
-                salary.setDa(getNumericValue(row.getCell(12)));
-                salary.setSpecialAllowance(getNumericValue(row.getCell(13)));
-                salary.setTravellingAllowance(getNumericValue(row.getCell(14)));
-                salary.setIncomeTax(getNumericValue(row.getCell(15)));
-                salary.setEpf(getNumericValue(row.getCell(16)));
-                salary.setLeaveDeduction(getNumericValue(row.getCell(17)));
-
-                employee.setSalaryDetails(salary);
-
-                employees.add(employee);
+        String resolvedName;
+        try {
+            if (READ_MODE_DOM.equalsIgnoreCase(readMode)) {
+                resolvedName = readWithWorkbook(filePath, sheetIndex, sheetName, rowHandler);
+            } else {
+                resolvedName = XlsxSheetStreamer.stream(new File(filePath), sheetIndex, sheetName, rowHandler);
             }
+        } catch (SheetNotFoundException e) {
+            // Let callers fall back to another sheet
+            throw e;
         } catch (Exception e) {
             throw new RuntimeException("Error reading Excel file: " + e.getMessage(), e);
         }
-        return employees;
+
+        logDecodeErrors(resolvedName, decoders);
+        return resolvedName;
     }
 
-    private LocalDate getDateValue(Cell cell) {
-        if (cell == null) {
-            return LocalDate.now();
+    // Read several sheets (or all of them when sheetNames is empty) with a single package open
+    public List<ParsedSheet> readSheets(String filePath, List<String> sheetNames) {
+        if (READ_MODE_DOM.equalsIgnoreCase(readMode)) {
+            List<String> names = sheetNames == null || sheetNames.isEmpty() ? getSheetNames(filePath) : sheetNames;
+            return names.stream().map(name -> readSheet(filePath, name)).toList();
         }
+
+        Map<String, List<Employee>> employeesBySheet = new ConcurrentHashMap<>();
+        Map<String, CellDecoders> decodersBySheet = new ConcurrentHashMap<>();
+        List<String> names;
         try {
-            switch (cell.getCellType()) {
-                case NUMERIC:
-                    if (DateUtil.isCellDateFormatted(cell)) {
-                        return cell.getDateCellValue().toInstant()
-                                .atZone(java.time.ZoneId.systemDefault())
-                                .toLocalDate();
-                    }
-                    break;
-                case STRING:
-                    String dateStr = cell.getStringCellValue().trim();
-                    // Try different date formats
-                    try {
-                        // Try dd/MM/yyyy format
-                        return LocalDate.parse(dateStr, DateTimeFormatter.ofPattern("dd/MM/yyyy"));
-                    } catch (Exception e1) {
-                        try {
-                            // Try full datetime format (e.g., "Mon Jun 30 00:00:00 IST 2025")
-                            return LocalDate.parse(dateStr, DateTimeFormatter.ofPattern("EEE MMM dd HH:mm:ss zzz yyyy", java.util.Locale.ENGLISH));
-                        } catch (Exception e2) {
-                            try {
-                                // Try MMM yyyy format
-                                return LocalDate.parse("01 " + dateStr, DateTimeFormatter.ofPattern("dd MMM yyyy", java.util.Locale.ENGLISH));
-                            } catch (Exception e3) {
-                                // If all parsing attempts fail, return current date
-                                return LocalDate.now();
-                            }
-                        }
-                    }
-            }
+            names = XlsxSheetStreamer.streamSheets(new File(filePath), sheetNames, sheetExecutor, name -> {
+                List<Employee> employees = new ArrayList<>();
+                CellDecoders decoders = new CellDecoders();
+                employeesBySheet.put(name, employees);
+                decodersBySheet.put(name, decoders);
+                return newRowHandler(employees::add, decoders);
+            });
+        } catch (SheetNotFoundException e) {
+            throw e;
         } catch (Exception e) {
-            // If any error occurs, return current date
-            System.err.println("Error parsing date from cell: " + e.getMessage());
+            throw new RuntimeException("Error reading Excel file: " + e.getMessage(), e);
         }
-        return LocalDate.now();
+
+        List<ParsedSheet> sheets = new ArrayList<>(names.size());
+        for (String name : names) {
+            CellDecoders decoders = decodersBySheet.get(name);
+            logDecodeErrors(name, decoders);
+            ParsedSheet sheet = new ParsedSheet(name, Collections.unmodifiableList(employeesBySheet.get(name)),
+                    List.copyOf(decoders.getErrors()), decoders.getErrorCount());
+            parsedWorkbookCache.put(filePath, "name:" + name, sheet);
+            sheets.add(sheet);
+        }
+        return sheets;
     }
 
-    private boolean isRowEmpty(Row row) {
-        if (row == null) return true;
-        for (int i = 0; i < row.getLastCellNum(); i++) {
-            Cell cell = row.getCell(i);
-            if (cell != null && cell.getCellType() != CellType.BLANK) {
-                return false;
+    // Skips the header row after compiling it, then decodes every non-empty row
+    private Consumer<RowCells> newRowHandler(Consumer<Employee> consumer, CellDecoders decoders) {
+        return new Consumer<>() {
+            private RowBindingPlan plan;
+
+            @Override
+            public void accept(RowCells row) {
+                // Resolve the header row once into a column plan
+                if (plan == null) {
+                    plan = compilePlan(row, decoders);
+                    return;
+                }
+                // Skip empty rows
+                if (row.isEmpty()) {
+                    return;
+                }
+                consumer.accept(plan.decode(row));
             }
+        };
+    }
+
+    private void logDecodeErrors(String sheetName, CellDecoders decoders) {
+        if (decoders.getErrorCount() > 0) {
+            logger.warn("{} cells in sheet {} could not be decoded, first: {}",
+                    decoders.getErrorCount(), sheetName, decoders.getErrors().get(0));
         }
-        return true;
     }
 
-    // Helper method to get available sheet names
-    public List<String> getSheetNames(String filePath) {
-        List<String> sheetNames = new ArrayList<>();
+    private RowBindingPlan compilePlan(RowCells header, CellDecoders decoders) {
+        RowBindingPlan plan = EmployeeSchema.compile(header, schemaProperties.getAliases(), decoders);
+        if (plan.isPositional()) {
+            logger.warn("No known column headers found, using the default column layout");
+        } else if (!plan.getUnboundFields().isEmpty()) {
+            logger.warn("No column found for fields {}, they will be left empty", plan.getUnboundFields());
+        }
+        return plan;
+    }
+
+    // Fallback path: load the whole workbook into memory
+    private String readWithWorkbook(String filePath, int sheetIndex, String sheetName,
+                                    Consumer<RowCells> rowHandler) throws Exception {
         try (FileInputStream fis = new FileInputStream(filePath);
              Workbook workbook = new XSSFWorkbook(fis)) {
 
-            for (int i = 0; i < workbook.getNumberOfSheets(); i++) {
-                sheetNames.add(workbook.getSheetName(i));
+            // Get the sheet either by name or index
+            Sheet sheet;
+            if (sheetName != null && !sheetName.isEmpty()) {
+                sheet = workbook.getSheet(sheetName);
+                if (sheet == null) {
+                    throw new SheetNotFoundException("Sheet not found: " + sheetName);
+                }
+            } else {
+                if (sheetIndex < 0 || sheetIndex >= workbook.getNumberOfSheets()) {
+                    throw new SheetNotFoundException("Invalid sheet index: " + sheetIndex);
+                }
+                sheet = workbook.getSheetAt(sheetIndex);
             }
-        } catch (Exception e) {
-            throw new RuntimeException("Error reading Excel file: " + e.getMessage(), e);
+
+            RowCells cells = new RowCells();
+            Iterator<Row> rows = sheet.iterator();
+            while (rows.hasNext()) {
+                copyRow(rows.next(), cells);
+                rowHandler.accept(cells);
+            }
+            return sheet.getSheetName();
         }
-        return sheetNames;
     }
 
-    private String getStringValue(Cell cell) {
-        if (cell == null) {
-            return "";
-        }
-        return switch (cell.getCellType()) {
-            case STRING -> cell.getStringCellValue().trim();
-            case NUMERIC -> {
-                if (DateUtil.isCellDateFormatted(cell)) {
-                    yield cell.getDateCellValue().toString();
+    private void copyRow(Row row, RowCells cells) {
+        cells.clear(row.getRowNum());
+        for (Cell cell : row) {
+            int col = cell.getColumnIndex();
+            CellType type = cell.getCellType() == CellType.FORMULA
+                    ? cell.getCachedFormulaResultType() : cell.getCellType();
+            switch (type) {
+                case STRING -> cells.setString(col, cell.getStringCellValue());
+                case NUMERIC -> cells.setNumeric(col, cell.getNumericCellValue(), DateUtil.isCellDateFormatted(cell));
+                case BOOLEAN -> cells.setBoolean(col, cell.getBooleanCellValue());
+                case ERROR -> cells.setError(col, String.valueOf(cell.getErrorCellValue()));
+                default -> {
+                    // blank cells stay blank
                 }
-                yield String.valueOf((long) cell.getNumericCellValue()).trim();
             }
-            case BOOLEAN -> String.valueOf(cell.getBooleanCellValue());
-            default -> "";
-        };
+        }
     }
 
-    private double getNumericValue(Cell cell) {
-        if (cell == null) {
-            return 0.0;
+    // Helper method to get available sheet names (reads workbook.xml only)
+    public List<String> getSheetNames(String filePath) {
+        try {
+            return WorkbookMetadataReader.readSheetNames(new File(filePath));
+        } catch (Exception e) {
+            throw new RuntimeException("Error reading Excel file: " + e.getMessage(), e);
         }
-        return switch (cell.getCellType()) {
-            case NUMERIC -> cell.getNumericCellValue();
-            case STRING -> {
-                try {
-                    String value = cell.getStringCellValue().trim().replace(",", "");
-                    yield Double.parseDouble(value);
-                } catch (NumberFormatException e) {
-                    yield 0.0;
-                }
-            }
-            default -> 0.0;
-        };
     }
 
-
-    private double getNumericValueFromFormattedString(Cell cell) {
-        if (cell == null) {
-            return 0.0;
-        }
+    // Sheet names with used range and row count, without loading any sheet data
+    public List<SheetInfo> getSheetInfo(String filePath) {
         try {
-            String value;
-            if (cell.getCellType() == CellType.NUMERIC) {
-                value = String.valueOf(cell.getNumericCellValue());
-            } else {
-                value = cell.getStringCellValue();
-            }
-            // Remove commas and spaces, then parse
-            value = value.trim().replace(",", "").replace(" ", "");
-            return Double.parseDouble(value);
+            return WorkbookMetadataReader.readSheetInfo(new File(filePath));
         } catch (Exception e) {
-            return 0.0;
+            throw new RuntimeException("Error reading Excel file: " + e.getMessage(), e);
         }
     }
 }
@@ -0,0 +1,177 @@
+package com.cavin.salary_slip.service;
+
+import com.cavin.salary_slip.constants.AppConstants;
+import com.cavin.salary_slip.model.BatchSummary;
+import com.cavin.salary_slip.model.CompanyDetails;
+import com.cavin.salary_slip.model.Employee;
+import com.cavin.salary_slip.model.SlipManifest;
+import com.cavin.salary_slip.service.sink.DirectorySlipSink;
+import com.cavin.salary_slip.service.sink.SlipSink;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates a batch by rendering only rows that were added or changed since the previous run.
+ * Unchanged slips are hard-linked from the previous batch (or copied when linking is not
+ * possible). A manifest of per-row fingerprints keyed by month and empId is kept in the
+ * base output directory.
+ * <p>
+ * Rows that share a file name with another row of the batch overwrite each other, as
+ * they do in a full run, so they are always rendered and never recorded for reuse.
+ */
+@Service
+public class IncrementalSlipService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IncrementalSlipService.class);
+
+    private final SlipPipelineService slipPipelineService;
+    private final PdfService pdfService;
+    private final CompanyDetails companyDetails;
+    private final ObjectMapper objectMapper;
+
+    @Value("${salary.slip.output.dir}")
+    private String baseOutputDir;
+
+    public IncrementalSlipService(SlipPipelineService slipPipelineService, PdfService pdfService,
+                                  CompanyDetails companyDetails, ObjectMapper objectMapper) {
+        this.slipPipelineService = slipPipelineService;
+        this.pdfService = pdfService;
+        this.companyDetails = companyDetails;
+        this.objectMapper = objectMapper;
+    }
+
+    public synchronized Result generate(List<Employee> employees, String outputDir) throws Exception {
+        Path manifestPath = Path.of(baseOutputDir, AppConstants.MANIFEST_FILE_NAME);
+        SlipManifest manifest = loadManifest(manifestPath);
+
+        String outputSettings = pdfService.outputFingerprint();
+        Map<String, Integer> fileNames = new HashMap<>();
+        for (Employee emp : employees) {
+            fileNames.merge(SlipSink.fileName(emp), 1, Integer::sum);
+        }
+        List<Employee> changed = new ArrayList<>();
+        List<ManifestUpdate> changedEntries = new ArrayList<>();
+        int reused = 0;
+        int index = 0;
+        for (Employee emp : employees) {
+            index++;
+            String month = monthKey(emp);
+            String rowKey = StringUtils.hasText(emp.getEmpId()) ? emp.getEmpId() : emp.getEmployeeName();
+            String hash = SlipFingerprint.of(emp, pdfService.salaryMonth(emp), companyDetails, outputSettings);
+            String fileName = SlipSink.fileName(emp);
+            Path target = Path.of(outputDir, fileName);
+
+            if (fileNames.get(fileName) > 1) {
+                // The file may end up holding another row's slip, so it must not be linked later
+                changed.add(emp);
+                changedEntries.add(new ManifestUpdate(index, month, rowKey, null));
+                continue;
+            }
+            SlipManifest.Entry entry = new SlipManifest.Entry(hash, target.toString());
+            SlipManifest.Entry previous = manifest.get(month, rowKey);
+            if (previous != null && previous.hash().equals(hash) && reuse(Path.of(previous.path()), target)) {
+                reused++;
+                manifest.put(month, rowKey, entry);
+            } else {
+                changed.add(emp);
+                changedEntries.add(new ManifestUpdate(index, month, rowKey, entry));
+            }
+        }
+
+        // Render new and changed rows in parallel; failed rows stay out of the manifest.
+        // Reused slips are linked file by file, so this always writes to the directory.
+        BatchSummary summary = slipPipelineService.run(changed, new DirectorySlipSink(Path.of(outputDir)));
+        Set<Integer> failed = new HashSet<>();
+        List<BatchSummary.SlipFailure> failures = new ArrayList<>(summary.failed());
+        for (BatchSummary.SlipFailure failure : summary.failures()) {
+            failed.add(failure.index());
+            failures.add(new BatchSummary.SlipFailure(changedEntries.get(failure.index() - 1).index(),
+                    failure.employeeName(), failure.message()));
+        }
+        for (int i = 0; i < changedEntries.size(); i++) {
+            ManifestUpdate update = changedEntries.get(i);
+            if (update.entry() == null) {
+                manifest.remove(update.month(), update.rowKey());
+            } else if (!failed.contains(i + 1)) {
+                manifest.put(update.month(), update.rowKey(), update.entry());
+            }
+        }
+
+        saveManifest(manifest, manifestPath);
+        logger.info("Incremental run: {} slips rendered, {} unchanged slips reused, {} failed",
+                summary.succeeded(), reused, failures.size());
+        return new Result(summary.succeeded(), reused, List.copyOf(failures));
+    }
+
+    // Hard-link the previous PDF into the new batch, falling back to a copy
+    private boolean reuse(Path previous, Path target) {
+        if (!Files.exists(previous)) {
+            return false;
+        }
+        try {
+            Files.deleteIfExists(target);
+            Files.createLink(target, previous);
+            return true;
+        } catch (IOException | UnsupportedOperationException e) {
+            try {
+                Files.copy(previous, target, StandardCopyOption.REPLACE_EXISTING);
+                return true;
+            } catch (IOException copyError) {
+                logger.warn("Could not reuse previous slip {}, re-rendering", previous, copyError);
+                return false;
+            }
+        }
+    }
+
+    private String monthKey(Employee emp) {
+        return emp.getSalaryDate() != null ? YearMonth.from(emp.getSalaryDate()).toString() : AppConstants.UNKNOWN_MONTH;
+    }
+
+    private SlipManifest loadManifest(Path manifestPath) {
+        if (!Files.exists(manifestPath)) {
+            return new SlipManifest();
+        }
+        try {
+            return objectMapper.readValue(manifestPath.toFile(), SlipManifest.class);
+        } catch (IOException e) {
+            logger.warn("Could not read slip manifest {}, rendering all slips", manifestPath, e);
+            return new SlipManifest();
+        }
+    }
+
+    // Write to a temporary file first so a crash never leaves a truncated manifest
+    private void saveManifest(SlipManifest manifest, Path manifestPath) throws IOException {
+        Files.createDirectories(manifestPath.getParent());
+        Path temp = manifestPath.resolveSibling(AppConstants.MANIFEST_FILE_NAME + ".tmp");
+        objectMapper.writeValue(temp.toFile(), manifest);
+        Files.move(temp, manifestPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // A null entry drops the row from the manifest
+    private record ManifestUpdate(int index, String month, String rowKey, SlipManifest.Entry entry) {
+    }
+
+    /**
+     * @param rendered slips rendered because the row was new or changed
+     * @param reused   slips linked or copied from the previous batch
+     * @param failures rows whose slip could not be rendered, by position in the batch
+     */
+    public record Result(int rendered, int reused, List<BatchSummary.SlipFailure> failures) {
+    }
+}
@@ -0,0 +1,105 @@
+package com.cavin.salary_slip.service;
+
+import com.cavin.salary_slip.constants.AppConstants;
+import com.cavin.salary_slip.model.BatchSummary;
+import com.cavin.salary_slip.model.ParsedSheet;
+import com.cavin.salary_slip.service.payroll.PayrollColumns;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Generates slips for several months of one workbook in a single pass: the
+ * workbook package is opened once, the selected sheets are parsed concurrently
+ * and each month is rendered into its own subdirectory of the batch. Both steps run
+ * on the shared sheet executor.
+ */
+@Service
+public class MultiSheetBatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MultiSheetBatchService.class);
+
+    private final ExcelReaderService excelReaderService;
+    private final SlipPipelineService slipPipelineService;
+    private final PayrollRegisterService payrollRegisterService;
+    private final ExecutorService sheetExecutor;
+
+    public MultiSheetBatchService(ExcelReaderService excelReaderService, SlipPipelineService slipPipelineService,
+                                  PayrollRegisterService payrollRegisterService,
+                                  @Qualifier("sheetExecutor") ExecutorService sheetExecutor) {
+        this.excelReaderService = excelReaderService;
+        this.slipPipelineService = slipPipelineService;
+        this.payrollRegisterService = payrollRegisterService;
+        this.sheetExecutor = sheetExecutor;
+    }
+
+    /**
+     * @param sheetNames sheets to process, or null/empty for every sheet in the workbook
+     * @param batchDir   batch directory; one subdirectory per sheet is created inside it
+     */
+    public List<SheetResult> generate(String filePath, List<String> sheetNames, String batchDir) throws Exception {
+        List<ParsedSheet> sheets = excelReaderService.readSheets(filePath, sheetNames);
+        logger.info("Read {} sheets from {}", sheets.size(), filePath);
+
+        List<Future<SheetResult>> futures = new ArrayList<>(sheets.size());
+        try {
+            for (ParsedSheet sheet : sheets) {
+                futures.add(sheetExecutor.submit(() -> renderSheet(sheet, batchDir)));
+            }
+            List<SheetResult> results = new ArrayList<>(futures.size());
+            for (Future<SheetResult> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        } finally {
+            // Do not leave sheets of a failed batch running on the shared pool
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private SheetResult renderSheet(ParsedSheet sheet, String batchDir) throws Exception {
+        String sheetDir = batchDir + directoryName(sheet.sheetName()) + "/";
+        File dir = new File(sheetDir);
+        if (!dir.exists() && !dir.mkdirs()) {
+            throw new IllegalStateException(AppConstants.DIR_CREATE_ERROR + ": " + sheetDir);
+        }
+
+        BatchSummary summary = slipPipelineService.run(sheet.employees(), sheetDir);
+        String registerWarning = null;
+        if (payrollRegisterService.isEnabled()) {
+            registerWarning = payrollRegisterService.generateForBatch(PayrollColumns.of(sheet.employees()),
+                    summary.failures(), sheet.sheetName(), sheetDir);
+        }
+        logger.info("Generated {} slips for sheet {} in directory: {}", summary.succeeded(), sheet.sheetName(), sheetDir);
+        return new SheetResult(sheet.sheetName(), sheetDir, summary.succeeded(), sheet.errorCount(), summary.failures(),
+                registerWarning);
+    }
+
+    // Sheet names such as "June 2025" are safe, but strip anything a filesystem might reject
+    static String directoryName(String sheetName) {
+        String name = sheetName.replaceAll("[^A-Za-z0-9 _.-]", "_").trim();
+        return name.isEmpty() ? "sheet" : name;
+    }
+
+    /**
+     * @param sheetName       sheet the slips were generated from
+     * @param outputDir       directory holding the slips of this sheet
+     * @param slipCount       number of slips generated
+     * @param decodeErrors    number of cells that could not be decoded
+     * @param failures        slips of this sheet that could not be generated
+     * @param registerWarning why the payroll register of this sheet was not written, or null
+     */
+    public record SheetResult(String sheetName, String outputDir, int slipCount, int decodeErrors,
+                              List<BatchSummary.SlipFailure> failures, String registerWarning) {
+    }
+}
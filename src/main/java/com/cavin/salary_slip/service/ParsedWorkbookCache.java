@@ -0,0 +1,126 @@
+package com.cavin.salary_slip.service;
+
+import com.cavin.salary_slip.model.ParsedSheet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * LRU cache of decoded sheets keyed by file content hash and sheet.
+ * The SHA-256 of a file is only recomputed when its modification time or size
+ * changes, so repeated scheduler runs on an unchanged file skip both hashing and parsing,
+ * and re-uploads of identical content hit the same entry.
+ */
+@Component
+public class ParsedWorkbookCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParsedWorkbookCache.class);
+
+    private final boolean enabled;
+    private final Map<CacheKey, ParsedSheet> sheets;
+    private final Map<Path, FileStamp> stamps;
+
+    public ParsedWorkbookCache(@Value("${salary.slip.cache.enabled:true}") boolean enabled,
+                               @Value("${salary.slip.cache.max-entries:8}") int maxEntries) {
+        this.enabled = enabled;
+        this.sheets = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CacheKey, ParsedSheet> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.stamps = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Path, FileStamp> eldest) {
+                return size() > maxEntries * 4;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached sheet for this file content, or runs {@code loader} and caches its result.
+     * Exceptions from the loader propagate and nothing is cached.
+     */
+    public ParsedSheet getOrLoad(String filePath, String sheetKey, Supplier<ParsedSheet> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        CacheKey key = new CacheKey(contentHash(Path.of(filePath)), sheetKey);
+        ParsedSheet cached;
+        synchronized (sheets) {
+            cached = sheets.get(key);
+        }
+        if (cached != null) {
+            logger.info("Using cached parse of sheet {} ({} employees)", cached.sheetName(), cached.employees().size());
+            return cached;
+        }
+
+        ParsedSheet loaded = loader.get();
+        synchronized (sheets) {
+            sheets.put(key, loaded);
+        }
+        return loaded;
+    }
+
+    // Store a sheet that was parsed outside getOrLoad, e.g. as part of a multi-sheet read
+    public void put(String filePath, String sheetKey, ParsedSheet sheet) {
+        if (!enabled) {
+            return;
+        }
+        CacheKey key = new CacheKey(contentHash(Path.of(filePath)), sheetKey);
+        synchronized (sheets) {
+            sheets.put(key, sheet);
+        }
+    }
+
+    public void clear() {
+        synchronized (sheets) {
+            sheets.clear();
+        }
+        synchronized (stamps) {
+            stamps.clear();
+        }
+    }
+
+    // SHA-256 of the file, reused while mtime and size are unchanged
+    String contentHash(Path path) {
+        try {
+            Path key = path.toAbsolutePath().normalize();
+            BasicFileAttributes attrs = Files.readAttributes(key, BasicFileAttributes.class);
+            long modified = attrs.lastModifiedTime().toMillis();
+            long size = attrs.size();
+
+            FileStamp stamp;
+            synchronized (stamps) {
+                stamp = stamps.get(key);
+            }
+            if (stamp != null && stamp.modified() == modified && stamp.size() == size) {
+                return stamp.hash();
+            }
+
+            String hash = Sha256.hex(key);
+            synchronized (stamps) {
+                stamps.put(key, new FileStamp(modified, size, hash));
+            }
+            return hash;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error hashing file: " + path, e);
+        }
+    }
+
+    private record CacheKey(String contentHash, String sheetKey) {
+    }
+
+    private record FileStamp(long modified, long size, String hash) {
+    }
+}
@@ -0,0 +1,170 @@
+package com.cavin.salary_slip.service;
+
+import com.cavin.salary_slip.constants.AppConstants;
+import com.cavin.salary_slip.model.BatchSummary;
+import com.cavin.salary_slip.model.CompanyDetails;
+import com.cavin.salary_slip.model.PayrollRegister;
+import com.cavin.salary_slip.service.payroll.PayrollColumns;
+import com.cavin.salary_slip.service.payroll.PayrollComponent;
+import com.cavin.salary_slip.service.payroll.RegisterTotals;
+import com.cavin.salary_slip.service.register.RegisterPdfWriter;
+import com.cavin.salary_slip.service.register.RegisterXlsxWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Builds the month-end payroll register of a batch and writes it next to the slips
+ * in every configured format ({@code salary.slip.register.formats}). The totals come
+ * from one fork-join pass over the batch's {@link PayrollColumns}, which callers fill
+ * while the slips are generated, so the workbook is never read a second time.
+ */
+@Service
+public class PayrollRegisterService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PayrollRegisterService.class);
+
+    // Listed one by one in the register; the totals have their own fields
+    private static final EnumSet<PayrollComponent> LINE_ITEMS =
+            EnumSet.range(PayrollComponent.BASIC, PayrollComponent.LEAVE_DEDUCTION);
+
+    private static final Set<String> SUPPORTED_FORMATS = Set.of(AppConstants.REGISTER_FORMAT_JSON,
+            AppConstants.REGISTER_FORMAT_PDF, AppConstants.REGISTER_FORMAT_XLSX);
+
+    private final CompanyDetails companyDetails;
+    private final ObjectMapper objectMapper;
+
+    // Any of "json", "pdf" and "xlsx"; empty writes no register
+    @Value("${salary.slip.register.formats:json,pdf,xlsx}")
+    private String[] formats;
+
+    public PayrollRegisterService(CompanyDetails companyDetails, ObjectMapper objectMapper) {
+        this.companyDetails = companyDetails;
+        this.objectMapper = objectMapper;
+    }
+
+    public boolean isEnabled() {
+        for (String format : formats) {
+            if (StringUtils.hasText(format)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Copies every row into register columns on its way to the batch, so the file is only read once
+    public SlipSource collecting(SlipSource source, PayrollColumns.Builder columns) {
+        return isEnabled() ? sink -> source.produce(sink.andThen(columns)) : source;
+    }
+
+    public PayrollRegister compute(PayrollColumns columns, String period) {
+        RegisterTotals totals = RegisterTotals.of(columns);
+
+        Map<String, BigDecimal> components = new LinkedHashMap<>();
+        for (PayrollComponent component : LINE_ITEMS) {
+            components.put(component.name(), rupees(totals.total(component)));
+        }
+        List<PayrollRegister.DesignationSubtotal> designations = new ArrayList<>(totals.designations().size());
+        for (int d = 0; d < totals.designations().size(); d++) {
+            designations.add(new PayrollRegister.DesignationSubtotal(totals.designations().get(d),
+                    totals.headcount(d), rupees(totals.total(d, PayrollComponent.TOTAL_EARNINGS)),
+                    rupees(totals.total(d, PayrollComponent.TOTAL_DEDUCTIONS)),
+                    rupees(totals.total(d, PayrollComponent.EPF)), rupees(totals.total(d, PayrollComponent.INCOME_TAX)),
+                    rupees(totals.total(d, PayrollComponent.NET_SALARY))));
+        }
+        return new PayrollRegister(period, totals.headcount(), components,
+                rupees(totals.total(PayrollComponent.TOTAL_EARNINGS)),
+                rupees(totals.total(PayrollComponent.TOTAL_DEDUCTIONS)),
+                rupees(totals.total(PayrollComponent.EPF)), rupees(totals.total(PayrollComponent.INCOME_TAX)),
+                rupees(totals.total(PayrollComponent.NET_SALARY)), designations);
+    }
+
+    /**
+     * Computes the register of {@code columns} and writes it into {@code outputDir}.
+     *
+     * @return the files written, one per configured format
+     */
+    public List<Path> generate(PayrollColumns columns, String period, String outputDir) throws Exception {
+        if (!isEnabled()) {
+            return List.of();
+        }
+        PayrollRegister register = compute(columns, period);
+        List<Path> written = write(register, outputDir);
+        logger.info("Payroll register for {}: {} employees, net payout {}, written to {}",
+                period, register.headcount(), register.netPayout(), written);
+        return written;
+    }
+
+    /**
+     * Writes the register of a batch whose slips are already written. Rows whose slip
+     * failed are left out, so the register totals exactly the slips in the batch. The
+     * slips stay valid without a register, so a failure here is logged and returned as
+     * a warning instead of being thrown.
+     *
+     * @param failures failed slips of the batch, indexed by their 1-based position in {@code columns}
+     * @return null when the register was written or is disabled, otherwise why it was not
+     */
+    public String generateForBatch(PayrollColumns columns, List<BatchSummary.SlipFailure> failures, String period,
+                                   String outputDir) {
+        if (!isEnabled()) {
+            return null;
+        }
+        try {
+            BitSet failed = new BitSet(columns.size());
+            for (BatchSummary.SlipFailure failure : failures) {
+                failed.set(failure.index() - 1);
+            }
+            generate(columns.without(failed), period, outputDir);
+            return null;
+        } catch (Exception e) {
+            logger.warn("Payroll register for {} could not be written to {}", period, outputDir, e);
+            return String.valueOf(e.getMessage());
+        }
+    }
+
+    public List<Path> write(PayrollRegister register, String outputDir) throws Exception {
+        String companyName = StringUtils.hasText(companyDetails.getName())
+                ? companyDetails.getName() : AppConstants.COMPANY_NAME;
+        List<Path> written = new ArrayList<>(formats.length);
+        for (String format : formats) {
+            String extension = format.trim().toLowerCase();
+            if (extension.isEmpty()) {
+                continue;
+            }
+            if (!SUPPORTED_FORMATS.contains(extension)) {
+                throw new IllegalArgumentException("Unknown payroll register format: " + format);
+            }
+            Path target = Path.of(outputDir, AppConstants.REGISTER_FILE_NAME + "." + extension);
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(target))) {
+                switch (extension) {
+                    case AppConstants.REGISTER_FORMAT_JSON ->
+                            objectMapper.writerWithDefaultPrettyPrinter().writeValue(out, register);
+                    case AppConstants.REGISTER_FORMAT_PDF -> RegisterPdfWriter.write(register, companyName, out);
+                    default -> RegisterXlsxWriter.write(register, out);
+                }
+            }
+            written.add(target);
+        }
+        return written;
+    }
+
+    private static BigDecimal rupees(long paise) {
+        return BigDecimal.valueOf(paise, 2);
+    }
+}
@@ -0,0 +1,55 @@
+package com.cavin.salary_slip.service;
+
+import com.cavin.salary_slip.model.PayrollSummary;
+import com.cavin.salary_slip.service.payroll.ComponentStats;
+import com.cavin.salary_slip.service.payroll.PayrollColumns;
+import com.cavin.salary_slip.service.payroll.PayrollComponent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Builds payroll totals from a batch loaded into {@link PayrollColumns}.
+ */
+@Service
+public class PayrollSummaryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PayrollSummaryService.class);
+
+    // Rows go straight from the reader into the columns, no Employee list is kept
+    public PayrollColumns load(SlipSource source) throws Exception {
+        PayrollColumns.Builder builder = PayrollColumns.builder();
+        source.produce(builder);
+        PayrollColumns columns = builder.build();
+        logger.info("Loaded {} employees into payroll columns", columns.size());
+        return columns;
+    }
+
+    public PayrollSummary summarize(PayrollColumns columns) {
+        Map<String, PayrollSummary.AmountSummary> components = new LinkedHashMap<>();
+        for (PayrollComponent component : PayrollComponent.values()) {
+            ComponentStats stats = columns.stats(component);
+            components.put(component.name(), new PayrollSummary.AmountSummary(rupees(stats.sum()),
+                    rupees(stats.min()), rupees(stats.max()), rupees(stats.average())));
+        }
+
+        Map<String, ComponentStats> earnings = columns.statsByDesignation(PayrollComponent.TOTAL_EARNINGS);
+        Map<String, ComponentStats> deductions = columns.statsByDesignation(PayrollComponent.TOTAL_DEDUCTIONS);
+        Map<String, ComponentStats> net = columns.statsByDesignation(PayrollComponent.NET_SALARY);
+        Map<String, PayrollSummary.DesignationSummary> designations = new LinkedHashMap<>();
+        for (String designation : columns.designations()) {
+            designations.put(designation, new PayrollSummary.DesignationSummary(earnings.get(designation).count(),
+                    rupees(earnings.get(designation).sum()), rupees(deductions.get(designation).sum()),
+                    rupees(net.get(designation).sum())));
+        }
+        return new PayrollSummary(columns.size(), components, designations);
+    }
+
+    private static BigDecimal rupees(long paise) {
+        return BigDecimal.valueOf(paise, 2);
+    }
+}
@@ -1,22 +1,41 @@
 package com.cavin.salary_slip.service;
 
+import com.cavin.salary_slip.config.SlipEncryptionProperties;
+import com.cavin.salary_slip.config.SlipSigningProperties;
 import com.cavin.salary_slip.constants.AppConstants;
 import com.cavin.salary_slip.model.CompanyDetails;
 import com.cavin.salary_slip.model.Employee;
 import com.cavin.salary_slip.model.SalaryDetails;
+import com.cavin.salary_slip.service.pdf.AmountFormatter;
+import com.cavin.salary_slip.service.pdf.LogoImageCache;
+import com.cavin.salary_slip.service.pdf.PdfStylePalette;
+import com.cavin.salary_slip.service.pdf.SlipBuffer;
+import com.cavin.salary_slip.service.pdf.SlipBufferPool;
+import com.cavin.salary_slip.service.pdf.SlipEncryption;
+import com.cavin.salary_slip.service.pdf.SlipField;
+import com.cavin.salary_slip.service.pdf.SlipSigner;
+import com.cavin.salary_slip.service.pdf.SlipTemplate;
 import com.itextpdf.text.*;
 import com.itextpdf.text.pdf.PdfPCell;
 import com.itextpdf.text.pdf.PdfPTable;
+import com.itextpdf.text.pdf.PdfStream;
 import com.itextpdf.text.pdf.PdfWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
-import java.io.FileOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
 
 import static com.cavin.salary_slip.constants.AppConstants.LEFT_SIGNATURE;
 import static com.cavin.salary_slip.constants.AppConstants.RIGHT_SIGNATURE;
@@ -25,36 +44,189 @@ import static com.cavin.salary_slip.constants.AppConstants.RIGHT_SIGNATURE;
 public class PdfService {
     private static final Logger logger = LoggerFactory.getLogger(PdfService.class);
 
+    public static final String RENDER_MODE_FLOW = "flow";
+    public static final String RENDER_MODE_TEMPLATE = "template";
+
+    public static final String PROFILE_DEFAULT = "default";
+    public static final String PROFILE_COMPACT = "compact";
+
     @Value("${salary.slip.logo.path:static/img.png}")
     private String logoPath;
 
-    private final CompanyDetails companyDetails;
+    // "flow" lays out every slip from scratch, "template" stamps values onto a pre-rendered page
+    @Value("${salary.slip.pdf.render-mode:flow}")
+    private String renderMode;
+
+    // "compact" trades a little CPU for smaller files: object and cross-reference streams,
+    // best compression and a predictor-encoded logo
+    @Value("${salary.slip.pdf.profile:default}")
+    private String profile;
 
-    public PdfService(CompanyDetails companyDetails) {
+    // Amounts are formatted into a per-thread buffer instead of through String.valueOf(double);
+    // the formatter also hands back the same String for amounts it has printed recently
+    private static final ThreadLocal<AmountFormatter> AMOUNT_FORMATTER = ThreadLocal.withInitial(AmountFormatter::new);
+
+    private final CompanyDetails companyDetails;
+    private final LogoImageCache logoImageCache = new LogoImageCache();
+    private final SlipBufferPool bufferPool;
+    // Null when slips are not password protected
+    private final SlipEncryption encryption;
+    // Null when slips are not signed; the keystore is read once, here
+    private final SlipSigner signer;
+    private volatile SlipTemplate slipTemplate;
+
+    // At most queue-capacity slips are in flight, so that many buffers are worth keeping
+    public PdfService(CompanyDetails companyDetails, SlipEncryptionProperties encryptionProperties,
+                      SlipSigningProperties signingProperties,
+                      @Value("${salary.slip.pipeline.queue-capacity:64}") int bufferPoolSize) {
         this.companyDetails = companyDetails;
+        this.bufferPool = new SlipBufferPool(bufferPoolSize);
+        this.encryption = SlipEncryption.of(encryptionProperties);
+        if (encryption != null) {
+            logger.info("Slips are password protected ({})", encryptionProperties.getUserPassword());
+        }
+        this.signer = SlipSigner.of(signingProperties);
+        if (signer != null) {
+            logger.info("Slips are signed with the key from {}", signingProperties.getKeystore());
+        }
     }
 
+    // Decoded once and shared across renders
     private Image getLogoImage() {
+        return isCompact() ? logoImageCache.getCompact(logoPath) : logoImageCache.get(logoPath);
+    }
+
+    private boolean isCompact() {
+        return PROFILE_COMPACT.equalsIgnoreCase(profile);
+    }
+
+    // Changes whenever the logo is reloaded, so slips rendered with the old one can be told apart
+    public int logoGeneration() {
+        return logoImageCache.generation(logoPath);
+    }
+
+    public boolean isEncrypted() {
+        return encryption != null;
+    }
+
+    public boolean isSigned() {
+        return signer != null;
+    }
+
+    // Settings that change the bytes of a slip without changing what is printed on it
+    public String outputFingerprint() {
+        String fingerprint = encryption != null ? encryption.fingerprint() : "";
+        if (signer != null) {
+            fingerprint += "|" + signer.fingerprint();
+        }
+        // Slips of the default profile keep the fingerprints they had before profiles existed
+        return isCompact() ? fingerprint + "|" + PROFILE_COMPACT : fingerprint;
+    }
+
+    // The slip is rendered completely before the file is created, so a failed render leaves no partial file
+    public void generateSalarySlip(Employee emp, String pdfPath) throws Exception {
+        try (SlipBuffer pdf = render(emp);
+             FileChannel channel = FileChannel.open(Path.of(pdfPath), StandardOpenOption.CREATE,
+                     StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            pdf.writeTo(channel);
+        }
+    }
+
+    // Render a slip into any channel; the channel is left open for the caller to close
+    public void generateSalarySlip(Employee emp, WritableByteChannel channel) throws Exception {
+        try (SlipBuffer pdf = render(emp)) {
+            pdf.writeTo(channel);
+        }
+    }
+
+    /**
+     * Renders a slip into a pooled buffer. The caller owns the buffer and must close it
+     * once the bytes have been written out, which hands the array to the next render.
+     */
+    public SlipBuffer render(Employee emp) throws Exception {
+        SlipBuffer pdf = bufferPool.acquire();
         try {
-            // Try to load from classpath resources first
-            ClassPathResource resource = new ClassPathResource(logoPath);
-            if (resource.exists()) {
-                return Image.getInstance(resource.getInputStream().readAllBytes());
+            generateSalarySlip(emp, pdf);
+            return pdf;
+        } catch (Exception | Error e) {
+            pdf.close();
+            throw e;
+        }
+    }
+
+    // Render a slip into any stream; the stream is left open for the caller to close
+    public void generateSalarySlip(Employee emp, OutputStream out) throws Exception {
+        if (signer == null) {
+            writeSlip(emp, out);
+            return;
+        }
+        // Signing needs the finished document, so the slip is rendered into a pooled buffer first
+        try (SlipBuffer unsigned = bufferPool.acquire()) {
+            writeSlip(emp, unsigned);
+            signer.sign(unsigned, out, encryption != null ? encryption.ownerPassword() : null);
+        }
+    }
+
+    private void writeSlip(Employee emp, OutputStream out) throws Exception {
+        byte[] userPassword = encryption != null ? encryption.userPassword(emp) : null;
+        Map<SlipField, String> values = getSlipValues(emp);
+        if (RENDER_MODE_TEMPLATE.equalsIgnoreCase(renderMode)) {
+            SlipTemplate template = getSlipTemplate();
+            if (template.fits(values)) {
+                stampSlip(template, values, out, userPassword);
+                return;
             }
-            // Fallback to file system if resource doesn't exist
-            return Image.getInstance(logoPath);
-        } catch (Exception e) {
-            logger.warn("Could not load logo image from path: {}. Using text header instead.", logoPath, e);
-            return null;
+            logger.debug("Values of {} do not fit the slip template, using the flow layout", emp.getEmployeeName());
         }
+        renderSlip(values, out, null, userPassword);
     }
 
-    public void generateSalarySlip(Employee emp, String pdfPath) throws Exception {
-        Document document = new Document(PageSize.A4, AppConstants.PAGE_MARGIN, AppConstants.PAGE_MARGIN,
-                AppConstants.PAGE_MARGIN, AppConstants.PAGE_MARGIN);
-        PdfWriter.getInstance(document, new FileOutputStream(pdfPath));
+    // Lays out the whole slip; with a recorder the value cells also report their position
+    private void renderSlip(Map<SlipField, String> values, OutputStream out, SlipTemplate.Recorder recorder,
+                            byte[] userPassword) throws DocumentException {
+        Document document = newDocument();
+        newWriter(document, out, userPassword);
+        document.open();
+        addSlipContent(document, values, recorder);
+        document.close();
+    }
+
+    private void stampSlip(SlipTemplate template, Map<SlipField, String> values, OutputStream out,
+                           byte[] userPassword) throws DocumentException, IOException {
+        Document document = newDocument();
+        PdfWriter writer = newWriter(document, out, userPassword);
         document.open();
+        try (SlipTemplate.Pages pages = template.pages(writer)) {
+            pages.stamp(values);
+            if (signer != null) {
+                SlipSigner.addField(writer, template.getSignatureBox());
+            }
+            document.close();
+        }
+    }
+
+    // A user password encrypts the slip as it is written
+    private PdfWriter newWriter(Document document, OutputStream out, byte[] userPassword) throws DocumentException {
+        PdfWriter writer = PdfWriter.getInstance(document, out);
+        writer.setCloseStream(false);
+        if (isCompact()) {
+            // Packs the small objects into compressed object streams (PDF 1.5)
+            writer.setFullCompression();
+            writer.setCompressionLevel(PdfStream.BEST_COMPRESSION);
+        }
+        if (userPassword != null) {
+            encryption.apply(writer, userPassword);
+        }
+        return writer;
+    }
 
+    private Document newDocument() {
+        return new Document(PageSize.A4, AppConstants.PAGE_MARGIN, AppConstants.PAGE_MARGIN,
+                AppConstants.PAGE_MARGIN, AppConstants.PAGE_MARGIN);
+    }
+
+    private void addSlipContent(Document document, Map<SlipField, String> values, SlipTemplate.Recorder recorder)
+            throws DocumentException {
         // Create header table with 2 columns
         PdfPTable headerTable = getHeaderTable();
         document.add(headerTable);
@@ -65,39 +237,92 @@ public class PdfService {
         // CIN + Level
         String companyCin = StringUtils.hasText(companyDetails.getCin()) ? companyDetails.getCin() : "";
         if (!companyCin.isEmpty()) {
-            Paragraph cin = new Paragraph(companyCin,
-                    new Font(AppConstants.DEFAULT_FONT_FAMILY, AppConstants.FONT_SIZE_NORMAL, Font.BOLD));
+            Paragraph cin = new Paragraph(companyCin, PdfStylePalette.boldFont());
             document.add(cin);
         }
 
         // Add company level
         String companyLevel = StringUtils.hasText(companyDetails.getLevel()) ? companyDetails.getLevel() : "";
         if (!companyLevel.isEmpty()) {
-            Paragraph level = new Paragraph(companyLevel + AppConstants.DOUBLE_NEW_LINE,
-                    new Font(AppConstants.DEFAULT_FONT_FAMILY, AppConstants.FONT_SIZE_NORMAL, Font.BOLD));
+            Paragraph level = new Paragraph(companyLevel + AppConstants.DOUBLE_NEW_LINE, PdfStylePalette.boldFont());
             document.add(level);
         }
 
 
         // Employee Info Table
-        PdfPTable empTable = getEmpTable(emp);
+        PdfPTable empTable = getEmpTable(values, recorder);
         document.add(empTable);
 
         // Salary Table
-        PdfPTable salaryTable = getSalaryTable(emp.getSalaryDetails());
+        PdfPTable salaryTable = getSalaryTable(values, recorder);
         document.add(salaryTable);
 
         // Add some space before signatures
         document.add(new Paragraph(AppConstants.DOUBLE_NEW_LINE));
 
         // Create signature table
-        PdfPTable signatureTable = getSignatureTable();
+        PdfPTable signatureTable = getSignatureTable(recorder);
         document.add(signatureTable);
+    }
 
-        document.close();
+    // Rebuilt when the company details or the logo change
+    private SlipTemplate getSlipTemplate() throws DocumentException {
+        String key = String.join("\u001f", companyDetails.getName(), companyDetails.getAddressLine1(),
+                companyDetails.getAddressLine2(), companyDetails.getCin(), companyDetails.getLevel(), logoPath,
+                String.valueOf(logoImageCache.generation(logoPath)));
+        SlipTemplate template = slipTemplate;
+        if (template != null && template.getKey().equals(key)) {
+            return template;
+        }
+        synchronized (this) {
+            template = slipTemplate;
+            if (template == null || !template.getKey().equals(key)) {
+                Map<SlipField, String> blank = new EnumMap<>(SlipField.class);
+                for (SlipField field : SlipField.values()) {
+                    blank.put(field, "");
+                }
+                SlipTemplate.Recorder recorder = SlipTemplate.recorder();
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                renderSlip(blank, out, recorder, null);
+                template = recorder.build(key, out.toByteArray());
+                slipTemplate = template;
+                logger.info("Rendered slip template ({} bytes)", out.size());
+            }
+            return template;
+        }
     }
 
-    private PdfPTable getSalaryTable(SalaryDetails salaryDetails) {
+    // Every value that differs between employees, formatted as printed on the slip
+    private Map<SlipField, String> getSlipValues(Employee emp) {
+        Map<SlipField, String> values = new EnumMap<>(SlipField.class);
+        values.put(SlipField.EMP_ID, emp.getEmpId());
+        values.put(SlipField.PAYABLE_DAYS, String.valueOf(emp.getPayableDays()));
+        values.put(SlipField.NAME, emp.getEmployeeName());
+        values.put(SlipField.MONTH_YEAR, salaryMonth(emp));
+        values.put(SlipField.DESIGNATION, emp.getDesignation());
+        values.put(SlipField.PAN, emp.getPanNo());
+        values.put(SlipField.BANK_ACCOUNT, emp.getBankAccountNo());
+        values.put(SlipField.AADHAR, emp.getAadharNo());
+        values.put(SlipField.IFSC, emp.getIfscCode());
+        values.put(SlipField.UAN, emp.getUanNo());
+
+        SalaryDetails salaryDetails = emp.getSalaryDetails();
+        AmountFormatter amounts = AMOUNT_FORMATTER.get();
+        values.put(SlipField.BASIC, amounts.format(salaryDetails.getBasicPaise()));
+        values.put(SlipField.INCOME_TAX, amounts.format(salaryDetails.getIncomeTaxPaise()));
+        values.put(SlipField.HRA, amounts.format(salaryDetails.getHraPaise()));
+        values.put(SlipField.EPF, amounts.format(salaryDetails.getEpfPaise()));
+        values.put(SlipField.DA, amounts.format(salaryDetails.getDaPaise()));
+        values.put(SlipField.LEAVE_DEDUCTION, amounts.format(salaryDetails.getLeaveDeductionPaise()));
+        values.put(SlipField.SPECIAL_ALLOWANCE, amounts.format(salaryDetails.getSpecialAllowancePaise()));
+        values.put(SlipField.TRAVEL_ALLOWANCE, amounts.format(salaryDetails.getTravellingAllowancePaise()));
+        values.put(SlipField.TOTAL_EARNINGS, amounts.format(salaryDetails.getTotalEarningsPaise()));
+        values.put(SlipField.TOTAL_DEDUCTIONS, amounts.format(salaryDetails.getTotalDeductionsPaise()));
+        values.put(SlipField.NET_SALARY, amounts.format(salaryDetails.getNetSalaryPaise()));
+        return values;
+    }
+
+    private PdfPTable getSalaryTable(Map<SlipField, String> values, SlipTemplate.Recorder recorder) {
         PdfPTable salaryTable = new PdfPTable(AppConstants.SALARY_TABLE_COLUMNS);
         salaryTable.setWidthPercentage(AppConstants.TABLE_WIDTH_PERCENTAGE);
         salaryTable.setSpacingBefore(AppConstants.SPACING_AFTER_HEADER);
@@ -109,85 +334,85 @@ public class PdfService {
 
         // Earnings
         salaryTable.addCell(getCell(AppConstants.BASIC_LABEL, PdfPCell.ALIGN_LEFT, false));
-        salaryTable.addCell(getCell(String.valueOf(salaryDetails.getBasic()), PdfPCell.ALIGN_RIGHT, false));
+        salaryTable.addCell(getValueCell(SlipField.BASIC, values, PdfPCell.ALIGN_RIGHT, false, recorder));
         salaryTable.addCell(getCell(AppConstants.INCOME_TAX_LABEL, PdfPCell.ALIGN_LEFT, false));
-        salaryTable.addCell(getCell(String.valueOf(salaryDetails.getIncomeTax()), PdfPCell.ALIGN_RIGHT, false));
+        salaryTable.addCell(getValueCell(SlipField.INCOME_TAX, values, PdfPCell.ALIGN_RIGHT, false, recorder));
 
         salaryTable.addCell(getCell(AppConstants.HRA_LABEL, PdfPCell.ALIGN_LEFT, false));
-        salaryTable.addCell(getCell(String.valueOf(salaryDetails.getHra()), PdfPCell.ALIGN_RIGHT, false));
+        salaryTable.addCell(getValueCell(SlipField.HRA, values, PdfPCell.ALIGN_RIGHT, false, recorder));
         salaryTable.addCell(getCell(AppConstants.EPF_LABEL, PdfPCell.ALIGN_LEFT, false));
-        salaryTable.addCell(getCell(String.valueOf(salaryDetails.getEpf()), PdfPCell.ALIGN_RIGHT, false));
+        salaryTable.addCell(getValueCell(SlipField.EPF, values, PdfPCell.ALIGN_RIGHT, false, recorder));
 
         salaryTable.addCell(getCell(AppConstants.DA_LABEL, PdfPCell.ALIGN_LEFT, false));
-        salaryTable.addCell(getCell(String.valueOf(salaryDetails.getDa()), PdfPCell.ALIGN_RIGHT, false));
+        salaryTable.addCell(getValueCell(SlipField.DA, values, PdfPCell.ALIGN_RIGHT, false, recorder));
         salaryTable.addCell(getCell(AppConstants.LEAVE_DEDUCTION_LABEL, PdfPCell.ALIGN_LEFT, false));
-        salaryTable.addCell(getCell(String.valueOf(salaryDetails.getLeaveDeduction()), PdfPCell.ALIGN_RIGHT, false));
+        salaryTable.addCell(getValueCell(SlipField.LEAVE_DEDUCTION, values, PdfPCell.ALIGN_RIGHT, false, recorder));
 
         salaryTable.addCell(getCell(AppConstants.SPECIAL_ALLOWANCE_LABEL, PdfPCell.ALIGN_LEFT, false));
-        salaryTable.addCell(getCell(String.valueOf(salaryDetails.getSpecialAllowance()), PdfPCell.ALIGN_RIGHT, false));
+        salaryTable.addCell(getValueCell(SlipField.SPECIAL_ALLOWANCE, values, PdfPCell.ALIGN_RIGHT, false, recorder));
         salaryTable.addCell(getCell(AppConstants.EMPTY_HEADER, PdfPCell.ALIGN_LEFT, false));
         salaryTable.addCell(getCell(AppConstants.EMPTY_HEADER, PdfPCell.ALIGN_RIGHT, false));
 
         salaryTable.addCell(getCell(AppConstants.TRAVEL_ALLOWANCE_LABEL, PdfPCell.ALIGN_LEFT, false));
-        salaryTable.addCell(getCell(String.valueOf(salaryDetails.getTravellingAllowance()), PdfPCell.ALIGN_RIGHT, false));
+        salaryTable.addCell(getValueCell(SlipField.TRAVEL_ALLOWANCE, values, PdfPCell.ALIGN_RIGHT, false, recorder));
         salaryTable.addCell(getCell(AppConstants.EMPTY_HEADER, PdfPCell.ALIGN_LEFT, false));
         salaryTable.addCell(getCell(AppConstants.EMPTY_HEADER, PdfPCell.ALIGN_RIGHT, false));
 
         // Totals
         salaryTable.addCell(getCell(AppConstants.TOTAL_EARNING_LABEL, AppConstants.DEFAULT_CELL_ALIGN_LEFT, true));
-        salaryTable.addCell(getCell(String.valueOf(salaryDetails.getTotalEarnings()), AppConstants.DEFAULT_CELL_ALIGN_RIGHT, true));
+        salaryTable.addCell(getValueCell(SlipField.TOTAL_EARNINGS, values, AppConstants.DEFAULT_CELL_ALIGN_RIGHT, true, recorder));
 
         salaryTable.addCell(getCell(AppConstants.TOTAL_DEDUCTION_LABEL, AppConstants.DEFAULT_CELL_ALIGN_LEFT, true));
-        salaryTable.addCell(getCell(String.valueOf(salaryDetails.getTotalDeductions()), AppConstants.DEFAULT_CELL_ALIGN_RIGHT, true));
+        salaryTable.addCell(getValueCell(SlipField.TOTAL_DEDUCTIONS, values, AppConstants.DEFAULT_CELL_ALIGN_RIGHT, true, recorder));
 
         salaryTable.addCell(getCell(AppConstants.NET_SALARY_LABEL, AppConstants.DEFAULT_CELL_ALIGN_LEFT, true));
-        salaryTable.addCell(getCell(String.valueOf(salaryDetails.getNetSalary()), AppConstants.DEFAULT_CELL_ALIGN_RIGHT, true));
+        salaryTable.addCell(getValueCell(SlipField.NET_SALARY, values, AppConstants.DEFAULT_CELL_ALIGN_RIGHT, true, recorder));
         salaryTable.addCell(getCell(AppConstants.LABEL_EMPTY, AppConstants.DEFAULT_CELL_ALIGN_LEFT, false));
         salaryTable.addCell(getCell(AppConstants.LABEL_EMPTY, AppConstants.DEFAULT_CELL_ALIGN_LEFT, false));
 
         return salaryTable;
     }
 
-    private PdfPTable getEmpTable(Employee emp) {
+    private PdfPTable getEmpTable(Map<SlipField, String> values, SlipTemplate.Recorder recorder) {
         PdfPTable empTable = new PdfPTable(AppConstants.EMP_TABLE_COLUMNS);
         empTable.setWidthPercentage(AppConstants.TABLE_WIDTH_PERCENTAGE);
         empTable.setSpacingBefore(AppConstants.TABLE_SPACING_BEFORE);
         empTable.setSpacingAfter(AppConstants.TABLE_SPACING_AFTER);
 
         empTable.addCell(getCell(AppConstants.LABEL_EMP_ID, PdfPCell.ALIGN_LEFT, true));
-        empTable.addCell(getCell(emp.getEmpId(), PdfPCell.ALIGN_LEFT, false));
+        empTable.addCell(getValueCell(SlipField.EMP_ID, values, PdfPCell.ALIGN_LEFT, false, recorder));
         empTable.addCell(getCell(AppConstants.LABEL_PAYABLE_DAYS, PdfPCell.ALIGN_LEFT, true));
-        empTable.addCell(getCell(String.valueOf(emp.getPayableDays()), PdfPCell.ALIGN_LEFT, false));
+        empTable.addCell(getValueCell(SlipField.PAYABLE_DAYS, values, PdfPCell.ALIGN_LEFT, false, recorder));
 
         empTable.addCell(getCell(AppConstants.LABEL_NAME, PdfPCell.ALIGN_LEFT, true));
-        empTable.addCell(getCell(emp.getEmployeeName(), PdfPCell.ALIGN_LEFT, false));
+        empTable.addCell(getValueCell(SlipField.NAME, values, PdfPCell.ALIGN_LEFT, false, recorder));
         empTable.addCell(getCell(AppConstants.LABEL_MONTH_YEAR, PdfPCell.ALIGN_LEFT, true));
-        empTable.addCell(getCell(formatSalaryMonth(emp.getSalaryDate()), PdfPCell.ALIGN_LEFT, false));
+        empTable.addCell(getValueCell(SlipField.MONTH_YEAR, values, PdfPCell.ALIGN_LEFT, false, recorder));
 
         empTable.addCell(getCell(AppConstants.LABEL_DESIGNATION, PdfPCell.ALIGN_LEFT, true));
-        empTable.addCell(getCell(emp.getDesignation(), PdfPCell.ALIGN_LEFT, false));
+        empTable.addCell(getValueCell(SlipField.DESIGNATION, values, PdfPCell.ALIGN_LEFT, false, recorder));
         empTable.addCell(getCell(AppConstants.LABEL_PAN, PdfPCell.ALIGN_LEFT, true));
-        empTable.addCell(getCell(emp.getPanNo(), PdfPCell.ALIGN_LEFT, false));
+        empTable.addCell(getValueCell(SlipField.PAN, values, PdfPCell.ALIGN_LEFT, false, recorder));
 
         empTable.addCell(getCell(AppConstants.LABEL_BANK_ACCOUNT, PdfPCell.ALIGN_LEFT, true));
-        empTable.addCell(getCell(emp.getBankAccountNo(), PdfPCell.ALIGN_LEFT, false));
+        empTable.addCell(getValueCell(SlipField.BANK_ACCOUNT, values, PdfPCell.ALIGN_LEFT, false, recorder));
         empTable.addCell(getCell(AppConstants.LABEL_AADHAR, PdfPCell.ALIGN_LEFT, true));
-        empTable.addCell(getCell(emp.getAadharNo(), PdfPCell.ALIGN_LEFT, false));
+        empTable.addCell(getValueCell(SlipField.AADHAR, values, PdfPCell.ALIGN_LEFT, false, recorder));
 
         empTable.addCell(getCell(AppConstants.LABEL_IFSC, PdfPCell.ALIGN_LEFT, true));
-        empTable.addCell(getCell(emp.getIfscCode(), PdfPCell.ALIGN_LEFT, false));
+        empTable.addCell(getValueCell(SlipField.IFSC, values, PdfPCell.ALIGN_LEFT, false, recorder));
         empTable.addCell(getCell(AppConstants.LABEL_EMPTY, PdfPCell.ALIGN_LEFT, true));
         empTable.addCell(getCell(AppConstants.LABEL_EMPTY, PdfPCell.ALIGN_LEFT, false));
 
         empTable.addCell(getCell(AppConstants.LABEL_UAN, PdfPCell.ALIGN_LEFT, true));
-        empTable.addCell(getCell(emp.getUanNo(), PdfPCell.ALIGN_LEFT, false));
+        empTable.addCell(getValueCell(SlipField.UAN, values, PdfPCell.ALIGN_LEFT, false, recorder));
         empTable.addCell(getCell(AppConstants.LABEL_EMPTY, PdfPCell.ALIGN_LEFT, true));
         empTable.addCell(getCell(AppConstants.LABEL_EMPTY, PdfPCell.ALIGN_LEFT, false));
 
         return empTable;
     }
 
-    private PdfPTable getSignatureTable() {
+    private PdfPTable getSignatureTable(SlipTemplate.Recorder recorder) {
         PdfPTable signatureTable = new PdfPTable(2);
         signatureTable.setWidthPercentage(AppConstants.TABLE_WIDTH_PERCENTAGE);
         signatureTable.setSpacingBefore(30f);
@@ -195,17 +420,24 @@ public class PdfService {
         // Create signature cells
         PdfPCell leftSignature = new PdfPCell();
         leftSignature.setBorder(Rectangle.TOP);
-        leftSignature.setPaddingTop(30f); // Space for manual signature
-        Paragraph srManager = new Paragraph(LEFT_SIGNATURE, new Font(Font.FontFamily.HELVETICA, 10));
+        leftSignature.setPaddingTop(AppConstants.SIGNATURE_SPACING); // Space for manual signature
+        Paragraph srManager = new Paragraph(LEFT_SIGNATURE, PdfStylePalette.signatureFont());
         srManager.setAlignment(Element.ALIGN_CENTER);
         leftSignature.addElement(srManager);
 
         PdfPCell rightSignature = new PdfPCell();
         rightSignature.setBorder(Rectangle.TOP);
-        rightSignature.setPaddingTop(30f); // Space for manual signature
-        Paragraph director = new Paragraph(RIGHT_SIGNATURE, new Font(Font.FontFamily.HELVETICA, 10));
+        rightSignature.setPaddingTop(AppConstants.SIGNATURE_SPACING); // Space for manual signature
+        Paragraph director = new Paragraph(RIGHT_SIGNATURE, PdfStylePalette.signatureFont());
         director.setAlignment(Element.ALIGN_CENTER);
         rightSignature.addElement(director);
+        // Signed slips get a signature field in the Director Finance signature space
+        if (recorder != null) {
+            rightSignature.setCellEvent(recorder.signature());
+        } else if (signer != null) {
+            rightSignature.setCellEvent((cell, position, canvases) ->
+                    SlipSigner.addField(canvases[PdfPTable.BASECANVAS].getPdfWriter(), SlipSigner.fieldBox(position)));
+        }
 
         signatureTable.addCell(leftSignature);
         signatureTable.addCell(rightSignature);
@@ -244,30 +476,26 @@ public class PdfService {
         leftCell.setBorder(AppConstants.NO_BORDER);
 
         // Add title and company details to left cell
-        Paragraph title = new Paragraph(AppConstants.PDF_TITLE,
-                new Font(AppConstants.DEFAULT_FONT_FAMILY, AppConstants.FONT_SIZE_HEADER, Font.BOLD));
+        Paragraph title = new Paragraph(AppConstants.PDF_TITLE, PdfStylePalette.headerFont());
         title.setAlignment(AppConstants.DEFAULT_CELL_ALIGN_CENTER);
         leftCell.addElement(title);
 
         // Add company name and address
         String companyName = StringUtils.hasText(companyDetails.getName()) ? companyDetails.getName() : AppConstants.COMPANY_NAME;
 
-        Paragraph company = new Paragraph(companyName,
-                new Font(AppConstants.DEFAULT_FONT_FAMILY, AppConstants.FONT_SIZE_HEADER, Font.BOLD));
+        Paragraph company = new Paragraph(companyName, PdfStylePalette.headerFont());
         company.setAlignment(AppConstants.DEFAULT_CELL_ALIGN_CENTER);
         leftCell.addElement(company);
 
         String cAddressLine1 = StringUtils.hasText(companyDetails.getAddressLine1()) ? companyDetails.getAddressLine1() : AppConstants.COMPANY_ADDRESS_LINE1;
 
-        Paragraph address1 = new Paragraph(cAddressLine1,
-                new Font(AppConstants.DEFAULT_FONT_FAMILY, AppConstants.FONT_SIZE_HEADER, Font.BOLD));
+        Paragraph address1 = new Paragraph(cAddressLine1, PdfStylePalette.headerFont());
         address1.setAlignment(AppConstants.DEFAULT_CELL_ALIGN_CENTER);
         leftCell.addElement(address1);
 
         String cAddressLine2 = StringUtils.hasText(companyDetails.getAddressLine2()) ? companyDetails.getAddressLine2() : AppConstants.COMPANY_ADDRESS_LINE2;
 
-        Paragraph address2 = new Paragraph(cAddressLine2,
-                new Font(AppConstants.DEFAULT_FONT_FAMILY, AppConstants.FONT_SIZE_HEADER, Font.BOLD));
+        Paragraph address2 = new Paragraph(cAddressLine2, PdfStylePalette.headerFont());
         address2.setAlignment(AppConstants.DEFAULT_CELL_ALIGN_CENTER);
         leftCell.addElement(address2);
 
@@ -275,24 +503,25 @@ public class PdfService {
     }
 
     private PdfPCell getCell(String text, int alignment, boolean bold) {
-        Font font = bold ? new Font(AppConstants.DEFAULT_FONT_FAMILY, AppConstants.FONT_SIZE_NORMAL, Font.BOLD) :
-                new Font(AppConstants.DEFAULT_FONT_FAMILY, AppConstants.FONT_SIZE_NORMAL);
-        PdfPCell cell = new PdfPCell(new Phrase(text, font));
-        cell.setHorizontalAlignment(alignment);
-        cell.setPadding(AppConstants.CELL_PADDING);
+        return PdfStylePalette.cell(text, alignment, bold);
+    }
+
+    private PdfPCell getValueCell(SlipField field, Map<SlipField, String> values, int alignment, boolean bold,
+                                  SlipTemplate.Recorder recorder) {
+        PdfPCell cell = getCell(values.get(field), alignment, bold);
+        if (recorder != null) {
+            cell.setCellEvent(recorder.slot(field, cell, bold ? PdfStylePalette.boldFont() : PdfStylePalette.normalFont()));
+        }
         return cell;
     }
 
     private PdfPCell getHeaderCell(String text) {
-        Font font = new Font(AppConstants.DEFAULT_FONT_FAMILY, AppConstants.FONT_SIZE_HEADER, Font.BOLD);
-        PdfPCell cell = new PdfPCell(new Phrase(text, font));
-        cell.setHorizontalAlignment(AppConstants.DEFAULT_CELL_ALIGN_CENTER);
-        cell.setBackgroundColor(AppConstants.HEADER_CELL_BG_COLOR);
-        cell.setPadding(AppConstants.HEADER_CELL_PADDING);
-        return cell;
+        return PdfStylePalette.headerCell(text);
     }
 
-    private String formatSalaryMonth(LocalDate date) {
+    // The pay period as printed on the slip; rows without a salary date are paid for the current month
+    public String salaryMonth(Employee emp) {
+        LocalDate date = emp.getSalaryDate();
         if (date == null) {
             date = LocalDate.now();
         }
@@ -0,0 +1,54 @@
+package com.cavin.salary_slip.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Lower-case hex SHA-256 of slips, fingerprints and uploaded files, shared by the
+ * caches so every content hash in the service is computed the same way.
+ */
+final class Sha256 {
+
+    private static final String ALGORITHM = "SHA-256";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private Sha256() {
+    }
+
+    static String hex(byte[] bytes) {
+        return HexFormat.of().formatHex(digest().digest(bytes));
+    }
+
+    // Of the UTF-8 encoding of the text
+    static String hex(CharSequence text) {
+        return hex(text.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Streams the file, so it is never held in memory as a whole
+    static String hex(Path path) throws IOException {
+        MessageDigest digest = digest();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream in = Files.newInputStream(path)) {
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest digest() {
+        try {
+            return MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.cavin.salary_slip.service;
+
+import com.cavin.salary_slip.model.CompanyDetails;
+import com.cavin.salary_slip.model.Employee;
+import com.cavin.salary_slip.model.ParsedSheet;
+import com.cavin.salary_slip.service.pdf.SlipBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reissues the slip of one employee from the configured workbook
+ * ({@code salary.slip.excel.path}) without running a batch. Rows come from the
+ * {@link ParsedWorkbookCache}, so only the first lookup of a month parses the sheet.
+ * <p>
+ * Rendered slips are kept in an LRU cache together with the {@link SlipFingerprint}
+ * of the row they were rendered from and the logo they were rendered with. Both are
+ * checked on every lookup, so an edited row, new company details, changed output
+ * settings, a new logo or, for rows without a salary date, a new month render a
+ * fresh slip. The ETag of a slip is the SHA-256 of its PDF, which covers everything
+ * on it and reveals none of the settings.
+ */
+@Service
+public class SingleSlipService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SingleSlipService.class);
+
+    private final ExcelReaderService excelReaderService;
+    private final CsvReaderService csvReaderService;
+    private final PdfService pdfService;
+    private final CompanyDetails companyDetails;
+
+    // Guarded by themselves
+    private final Map<String, SheetIndex> indexes;
+    private final Map<SlipKey, CachedSlip> slips;
+
+    @Value("${salary.slip.excel.path}")
+    private String excelPath;
+
+    @Value("${salary.slip.input.format:auto}")
+    private String inputFormat;
+
+    public SingleSlipService(ExcelReaderService excelReaderService, CsvReaderService csvReaderService,
+                             PdfService pdfService, CompanyDetails companyDetails,
+                             @Value("${salary.slip.cache.max-entries:8}") int maxSheets,
+                             @Value("${salary.slip.single.cache-max-entries:256}") int maxSlips) {
+        this.excelReaderService = excelReaderService;
+        this.csvReaderService = csvReaderService;
+        this.pdfService = pdfService;
+        this.companyDetails = companyDetails;
+        this.indexes = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, SheetIndex> eldest) {
+                return size() > maxSheets;
+            }
+        };
+        this.slips = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<SlipKey, CachedSlip> eldest) {
+                return size() > maxSlips;
+            }
+        };
+    }
+
+    /**
+     * Finds the row of {@code empId} in the sheet named {@code month} (a CSV input has
+     * a single sheet, so the month is ignored) without rendering anything.
+     *
+     * @return the slip to render, or null when the employee is not on the sheet
+     * @throws com.cavin.salary_slip.service.excel.SheetNotFoundException when the workbook has no such sheet
+     */
+    public SlipLookup find(String month, String empId) {
+        ParsedSheet sheet = CsvReaderService.isCsvInput(inputFormat, excelPath)
+                ? csvReaderService.readSheet(excelPath)
+                : excelReaderService.readSheet(excelPath, month);
+        Employee emp = index(month, sheet).get(empId.trim());
+        if (emp == null) {
+            return null;
+        }
+        String fingerprint = SlipFingerprint.of(emp, pdfService.salaryMonth(emp), companyDetails,
+                pdfService.outputFingerprint());
+        return new SlipLookup(new SlipKey(month, emp.getEmpId().trim()), emp, fingerprint);
+    }
+
+    // The cached slip when it was rendered from the same fingerprint and logo, otherwise a fresh render
+    public RenderedSlip render(SlipLookup lookup) throws Exception {
+        // Read before rendering, so a logo replaced during the render is picked up next time
+        int logoGeneration = pdfService.logoGeneration();
+        CachedSlip cached;
+        synchronized (slips) {
+            cached = slips.get(lookup.key());
+        }
+        if (cached != null && cached.fingerprint().equals(lookup.fingerprint())
+                && cached.logoGeneration() == logoGeneration) {
+            return cached.slip();
+        }
+
+        byte[] pdf;
+        try (SlipBuffer buffer = pdfService.render(lookup.employee())) {
+            pdf = buffer.toByteArray();
+        }
+        RenderedSlip slip = new RenderedSlip(pdf, "\"" + Sha256.hex(pdf) + "\"");
+        synchronized (slips) {
+            slips.put(lookup.key(), new CachedSlip(lookup.fingerprint(), logoGeneration, slip));
+        }
+        logger.info("Rendered slip of {} for {} ({} bytes)", lookup.key().empId(), lookup.key().month(), pdf.length);
+        return slip;
+    }
+
+    // Rows by employee id, rebuilt only when the cache hands out a different parse of the sheet
+    private Map<String, Employee> index(String month, ParsedSheet sheet) {
+        synchronized (indexes) {
+            SheetIndex index = indexes.get(month);
+            if (index != null && index.sheet() == sheet) {
+                return index.byEmpId();
+            }
+        }
+        Map<String, Employee> byEmpId = new HashMap<>(sheet.employees().size() * 2);
+        for (Employee emp : sheet.employees()) {
+            if (emp.getEmpId() != null) {
+                // The first row wins, as it would be the first slip of a batch
+                byEmpId.putIfAbsent(emp.getEmpId().trim(), emp);
+            }
+        }
+        synchronized (indexes) {
+            indexes.put(month, new SheetIndex(sheet, byEmpId));
+        }
+        return byEmpId;
+    }
+
+    /**
+     * A row resolved for rendering.
+     *
+     * @param fingerprint hash of the row and settings the slip is rendered from
+     */
+    public record SlipLookup(SlipKey key, Employee employee, String fingerprint) {
+    }
+
+    /**
+     * @param pdf  the slip
+     * @param etag quoted SHA-256 of {@code pdf}
+     */
+    public record RenderedSlip(byte[] pdf, String etag) {
+    }
+
+    public record SlipKey(String month, String empId) {
+    }
+
+    private record SheetIndex(ParsedSheet sheet, Map<String, Employee> byEmpId) {
+    }
+
+    private record CachedSlip(String fingerprint, int logoGeneration, RenderedSlip slip) {
+    }
+}
@@ -0,0 +1,58 @@
+package com.cavin.salary_slip.service;
+
+import com.cavin.salary_slip.constants.AppConstants;
+import com.cavin.salary_slip.model.CompanyDetails;
+import com.cavin.salary_slip.model.Employee;
+import com.cavin.salary_slip.model.SalaryDetails;
+
+/**
+ * Content hash of everything that ends up on a rendered slip: the employee row,
+ * the pay period printed on it, the company details, the slip layout version and
+ * output settings such as the slip encryption. Two slips with the same fingerprint
+ * render to the same PDF. The period is hashed as printed rather than as the raw
+ * salary date, since a row without a date is printed with the current month.
+ */
+public final class SlipFingerprint {
+
+    private static final char SEPARATOR = '\u001f';
+
+    private SlipFingerprint() {
+    }
+
+    /**
+     * @param salaryMonth the pay period printed on the slip, see {@code PdfService#salaryMonth}
+     */
+    public static String of(Employee emp, String salaryMonth, CompanyDetails company, String outputSettings) {
+        StringBuilder sb = new StringBuilder(256);
+        sb.append(AppConstants.SLIP_LAYOUT_VERSION).append(SEPARATOR);
+        // Unprotected slips keep the fingerprints they had before output settings were hashed
+        if (outputSettings != null && !outputSettings.isEmpty()) {
+            append(sb, outputSettings);
+        }
+        append(sb, company.getName(), company.getAddressLine1(), company.getAddressLine2(),
+                company.getCin(), company.getLevel());
+        append(sb, emp.getEmpId(), emp.getEmployeeName(), emp.getDesignation(), emp.getBankAccountNo(),
+                emp.getIfscCode(), emp.getUanNo(), emp.getPanNo(), emp.getAadharNo());
+        sb.append(emp.getPayableDays()).append(SEPARATOR);
+        append(sb, salaryMonth);
+
+        SalaryDetails salary = emp.getSalaryDetails();
+        if (salary != null) {
+            sb.append(salary.getBasicPaise()).append(SEPARATOR)
+                    .append(salary.getHraPaise()).append(SEPARATOR)
+                    .append(salary.getDaPaise()).append(SEPARATOR)
+                    .append(salary.getSpecialAllowancePaise()).append(SEPARATOR)
+                    .append(salary.getTravellingAllowancePaise()).append(SEPARATOR)
+                    .append(salary.getIncomeTaxPaise()).append(SEPARATOR)
+                    .append(salary.getEpfPaise()).append(SEPARATOR)
+                    .append(salary.getLeaveDeductionPaise());
+        }
+        return Sha256.hex(sb);
+    }
+
+    private static void append(StringBuilder sb, String... values) {
+        for (String value : values) {
+            sb.append(value == null ? "" : value).append(SEPARATOR);
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package com.cavin.salary_slip.service;
+
+import com.cavin.salary_slip.model.BatchSummary;
+import com.cavin.salary_slip.model.Employee;
+import com.cavin.salary_slip.service.pdf.SlipBuffer;
+import com.cavin.salary_slip.service.sink.SlipSink;
+import com.cavin.salary_slip.service.sink.SlipSinkClosedException;
+import com.cavin.salary_slip.service.sink.SlipSinkFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs a slip batch as a pipeline: the calling thread produces rows, the shared
+ * slip executor renders them into pooled buffers and a single writer thread hands
+ * them to a {@link SlipSink} in batch order. At most {@code queue-capacity} slips
+ * are in flight at once, so a slow stage blocks the reader and memory stays
+ * bounded regardless of sheet size. A slip that fails to render or write is
+ * recorded and the batch carries on. If the writer thread itself dies, the batch
+ * stops and the writer's error is rethrown instead of waiting for it forever.
+ */
+@Service
+public class SlipPipelineService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlipPipelineService.class);
+
+    // Sentinel closing the write queue
+    private static final RenderedSlip END_OF_SLIPS = new RenderedSlip(0, null, null, null);
+    // How often a thread waiting for the writer checks that it is still alive
+    private static final long WRITER_CHECK_MILLIS = 1000;
+
+    private final PdfService pdfService;
+    private final ExecutorService slipExecutor;
+    private final SlipSinkFactory slipSinkFactory;
+
+    @Value("${salary.slip.pipeline.queue-capacity:64}")
+    private int queueCapacity;
+
+    public SlipPipelineService(PdfService pdfService, @Qualifier("slipExecutor") ExecutorService slipExecutor,
+                               SlipSinkFactory slipSinkFactory) {
+        this.pdfService = pdfService;
+        this.slipExecutor = slipExecutor;
+        this.slipSinkFactory = slipSinkFactory;
+    }
+
+    // Render an already loaded list of employees
+    public BatchSummary run(List<Employee> employees, String outputDir) throws Exception {
+        return run(sink -> employees.forEach(sink), outputDir);
+    }
+
+    // Render an already loaded list of employees into the given sink
+    public BatchSummary run(List<Employee> employees, SlipSink sink) throws Exception {
+        return run(consumer -> employees.forEach(consumer), sink);
+    }
+
+    /**
+     * Renders every employee produced by {@code source} into {@code outputDir}, using
+     * the configured sink.
+     */
+    public BatchSummary run(SlipSource source, String outputDir) throws Exception {
+        return run(source, outputDir, BatchProgress.NONE);
+    }
+
+    // As above, reporting every row read and slip written to {@code progress}
+    public BatchSummary run(SlipSource source, String outputDir, BatchProgress progress) throws Exception {
+        try (SlipSink sink = slipSinkFactory.open(outputDir)) {
+            return run(source, sink, progress);
+        }
+    }
+
+    /**
+     * Renders every employee produced by {@code source} into {@code sink}. Failures of
+     * single slips are reported in the summary; only a failure of the source itself is
+     * rethrown, after the slips already read have been written. The sink is finished
+     * but left open for the caller to close.
+     */
+    public BatchSummary run(SlipSource source, SlipSink sink) throws Exception {
+        return run(source, sink, BatchProgress.NONE);
+    }
+
+    public BatchSummary run(SlipSource source, SlipSink sink, BatchProgress progress) throws Exception {
+        Run run = new Run(Math.max(1, queueCapacity), sink, progress);
+        Thread writer = Thread.ofPlatform().name("slip-writer").start(run::write);
+        run.writer = writer;
+
+        Exception sourceError = null;
+        try {
+            source.produce(run::submit);
+        } catch (Exception e) {
+            sourceError = e;
+        } finally {
+            // Wait for every slip in flight, then close the write queue
+            if (run.acquire(run.capacity)) {
+                run.slips.add(END_OF_SLIPS);
+            }
+            writer.join();
+        }
+        if (run.writerError != null) {
+            // The source only saw the batch being cancelled, the writer has the cause
+            run.discardQueued();
+            throw new IllegalStateException("Slip writer failed: " + run.writerError.getMessage(), run.writerError);
+        }
+        if (sourceError != null) {
+            throw sourceError;
+        }
+
+        List<BatchSummary.SlipFailure> failures = List.copyOf(run.failures);
+        BatchSummary summary = new BatchSummary(run.written, run.bytesWritten, failures, run.firstSlipMillis,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - run.start), run.renderNanos.sum());
+        sink.finish(summary);
+        logger.info("Wrote {} slips to {}, {} bytes per slip, {} ms to render{}{} per slip", summary.succeeded(),
+                sink.describe(), summary.bytesPerSlip(), String.format("%.2f", summary.renderMillisPerSlip()),
+                pdfService.isEncrypted() ? ", encrypt" : "", pdfService.isSigned() ? ", sign" : "");
+        if (!failures.isEmpty()) {
+            logger.warn("{} of {} slips failed, first: {}", summary.failed(), summary.total(), failures.get(0));
+        }
+        return summary;
+    }
+
+    private final class Run {
+        final int capacity;
+        final SlipSink sink;
+        final BatchProgress progress;
+        final Semaphore permits;
+        final BlockingQueue<RenderedSlip> slips = new LinkedBlockingQueue<>();
+        final AtomicInteger produced = new AtomicInteger();
+        final LongAdder renderNanos = new LongAdder();
+        final long start = System.nanoTime();
+        volatile boolean cancelled;
+        volatile Throwable writerError;
+        Thread writer;
+
+        // Owned by the writer thread, read after it has been joined
+        final List<BatchSummary.SlipFailure> failures = new ArrayList<>();
+        final Map<Integer, RenderedSlip> pending = new HashMap<>();
+        int next = 1;
+        int written;
+        long bytesWritten;
+        long firstSlipMillis = -1;
+
+        Run(int capacity, SlipSink sink, BatchProgress progress) {
+            this.capacity = capacity;
+            this.sink = sink;
+            this.progress = progress;
+            this.permits = new Semaphore(capacity);
+        }
+
+        // Called by the reader for each row; blocks while the pipeline is full
+        void submit(Employee emp) {
+            if (cancelled) {
+                throw new CancellationException("Slip output was closed");
+            }
+            int index = produced.incrementAndGet();
+            progress.rowRead();
+            if (!acquire(1)) {
+                throw new CancellationException("Slip writer stopped");
+            }
+            try {
+                slipExecutor.execute(() -> render(index, emp));
+            } catch (RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+        }
+
+        void render(int index, Employee emp) {
+            long started = System.nanoTime();
+            try {
+                SlipBuffer pdf = pdfService.render(emp);
+                renderNanos.add(System.nanoTime() - started);
+                progress.slipRendered();
+                slips.add(new RenderedSlip(index, emp, pdf, null));
+            } catch (Throwable e) {
+                renderNanos.add(System.nanoTime() - started);
+                progress.slipRendered();
+                slips.add(new RenderedSlip(index, emp, null, e));
+            }
+        }
+
+        /**
+         * Waits uninterruptibly for {@code count} permits, which the writer releases as it
+         * writes slips. Gives up once the writer thread has died, since nothing would
+         * release them any more.
+         */
+        boolean acquire(int count) {
+            boolean interrupted = false;
+            try {
+                while (true) {
+                    try {
+                        if (permits.tryAcquire(count, WRITER_CHECK_MILLIS, TimeUnit.MILLISECONDS)) {
+                            return true;
+                        }
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                    if (!writer.isAlive()) {
+                        return false;
+                    }
+                }
+            } finally {
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        void write() {
+            try {
+                writeInOrder();
+            } catch (Throwable e) {
+                writerError = e;
+                cancelled = true;
+                logger.error("Slip writer for {} stopped", sink.describe(), e);
+            }
+        }
+
+        // Slips finish rendering in any order; they are held back until their turn comes
+        void writeInOrder() {
+            while (true) {
+                RenderedSlip slip;
+                try {
+                    slip = slips.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (slip == END_OF_SLIPS) {
+                    return;
+                }
+                pending.put(slip.index(), slip);
+                while ((slip = pending.remove(next)) != null) {
+                    next++;
+                    emit(slip);
+                    permits.release();
+                }
+            }
+        }
+
+        void emit(RenderedSlip slip) {
+            if (slip.error() != null) {
+                fail(slip, slip.error());
+                return;
+            }
+            try (SlipBuffer pdf = slip.pdf()) {
+                if (cancelled) {
+                    fail(slip, new CancellationException("Slip output was closed"));
+                    return;
+                }
+                sink.write(slip.employee(), pdf);
+                bytesWritten += pdf.size();
+                progress.slipWritten();
+                if (++written == 1) {
+                    firstSlipMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                }
+            } catch (SlipSinkClosedException e) {
+                // Nobody will receive the remaining slips, so stop reading them
+                cancelled = true;
+                fail(slip, e.getCause());
+            } catch (Exception e) {
+                fail(slip, e);
+            }
+        }
+
+        // Hands the buffers of slips nobody will write back to the pool
+        void discardQueued() {
+            pending.values().forEach(RenderedSlip::release);
+            pending.clear();
+            RenderedSlip slip;
+            while ((slip = slips.poll()) != null) {
+                slip.release();
+            }
+        }
+
+        void fail(RenderedSlip slip, Throwable e) {
+            String employeeName = slip.employee().getEmployeeName();
+            logger.error("Failed to generate slip for: {}", employeeName, e);
+            failures.add(new BatchSummary.SlipFailure(slip.index(), employeeName, String.valueOf(e.getMessage())));
+            progress.slipFailed();
+        }
+    }
+
+    private record RenderedSlip(int index, Employee employee, SlipBuffer pdf, Throwable error) {
+
+        void release() {
+            if (pdf != null) {
+                pdf.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.cavin.salary_slip.service;
+
+import com.cavin.salary_slip.model.Employee;
+
+import java.util.function.Consumer;
+
+/**
+ * Producer side of a slip batch: pushes employees to the sink as they are read.
+ */
+@FunctionalInterface
+public interface SlipSource {
+
+    void produce(Consumer<Employee> sink) throws Exception;
+}
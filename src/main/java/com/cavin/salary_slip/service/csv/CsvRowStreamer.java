@@ -0,0 +1,301 @@
+package com.cavin.salary_slip.service.csv;
+
+import com.cavin.salary_slip.service.excel.RowBindingPlan;
+import com.cavin.salary_slip.service.excel.RowCells;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Parses an RFC 4180 style CSV file from its raw bytes, read through a
+ * {@link FileChannel} one fixed-size chunk at a time. The header row is decoded to
+ * strings and compiled into a {@link RowBindingPlan}; data rows are then decoded
+ * according to that plan: numeric columns are parsed straight from the bytes, text
+ * columns become one String each and unused columns are skipped without decoding.
+ * <p>
+ * A record cut off by the end of a chunk is moved to the front of the buffer and
+ * split again once the next chunk is read behind it; the buffer only grows when a
+ * single record is larger than a chunk. Memory use is therefore bounded by the
+ * longest record rather than the file size.
+ * <p>
+ * The file is not memory-mapped: a mapping stays open until the buffer is garbage
+ * collected, and on Windows the upload temp file could not be deleted until then.
+ */
+public final class CsvRowStreamer {
+
+    private static final byte COMMA = ',';
+    private static final byte QUOTE = '"';
+    private static final byte CR = '\r';
+    private static final byte LF = '\n';
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+    // Large enough to hold the byte order mark
+    private static final int MIN_CHUNK_SIZE = 4;
+    // Returned by splitRecord when the record continues in the next chunk
+    private static final int INCOMPLETE = -1;
+
+    private CsvRowStreamer() {
+    }
+
+    public static void stream(File file, Function<RowCells, RowBindingPlan> headerCompiler,
+                              Consumer<RowCells> rowConsumer) throws IOException {
+        stream(file, CHUNK_SIZE, headerCompiler, rowConsumer);
+    }
+
+    // Visible for tests, which use small chunks so records span chunk boundaries
+    static void stream(File file, int chunkSize, Function<RowCells, RowBindingPlan> headerCompiler,
+                       Consumer<RowCells> rowConsumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            new Parser(channel, new byte[Math.max(chunkSize, MIN_CHUNK_SIZE)], headerCompiler, rowConsumer).run();
+        }
+    }
+
+    private static final class Parser {
+        private final FileChannel channel;
+        // data[0, limit) holds the bytes read but not yet parsed
+        private byte[] data;
+        private int limit;
+        private boolean eof;
+        private final Function<RowCells, RowBindingPlan> headerCompiler;
+        private final Consumer<RowCells> rowConsumer;
+        private final RowCells cells = new RowCells();
+
+        // Field boundaries of the current record; quoted fields exclude the enclosing quotes
+        private int[] starts = new int[32];
+        private int[] ends = new int[32];
+        private boolean[] quoted = new boolean[32];
+        private int fieldCount;
+        private byte[] scratch = new byte[256];
+        private RowBindingPlan plan;
+
+        Parser(FileChannel channel, byte[] data, Function<RowCells, RowBindingPlan> headerCompiler,
+               Consumer<RowCells> rowConsumer) {
+            this.channel = channel;
+            this.data = data;
+            this.headerCompiler = headerCompiler;
+            this.rowConsumer = rowConsumer;
+        }
+
+        void run() throws IOException {
+            fill();
+            int pos = skipByteOrderMark();
+            int rowNum = 0;
+            while (pos < limit || !eof) {
+                int next = pos < limit ? splitRecord(pos) : INCOMPLETE;
+                if (next == INCOMPLETE) {
+                    pos = refill(pos);
+                    continue;
+                }
+                pos = next;
+                cells.clear(rowNum++);
+                if (plan == null) {
+                    for (int col = 0; col < fieldCount; col++) {
+                        cells.setString(col, text(col));
+                    }
+                    plan = headerCompiler.apply(cells);
+                } else {
+                    decodeRecord();
+                    rowConsumer.accept(cells);
+                }
+            }
+        }
+
+        // Moves the unparsed bytes from pos on to the front of the buffer and reads the next chunk behind them
+        private int refill(int pos) throws IOException {
+            limit -= pos;
+            System.arraycopy(data, pos, data, 0, limit);
+            if (limit == data.length) {
+                // A single record is larger than the buffer
+                data = Arrays.copyOf(data, data.length * 2);
+            }
+            fill();
+            return 0;
+        }
+
+        private void fill() throws IOException {
+            ByteBuffer buffer = ByteBuffer.wrap(data, limit, data.length - limit);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    eof = true;
+                    break;
+                }
+            }
+            limit = buffer.position();
+        }
+
+        private int skipByteOrderMark() {
+            if (limit >= 3 && (data[0] & 0xFF) == 0xEF && (data[1] & 0xFF) == 0xBB
+                    && (data[2] & 0xFF) == 0xBF) {
+                return 3;
+            }
+            return 0;
+        }
+
+        /*
+         * Records field boundaries up to the end of the record and returns the start of
+         * the next one, or INCOMPLETE when the record may continue past the bytes read so far.
+         */
+        private int splitRecord(int pos) {
+            fieldCount = 0;
+            while (true) {
+                ensureFieldCapacity();
+                if (pos < limit && data[pos] == QUOTE) {
+                    int start = pos + 1;
+                    pos = start;
+                    while (pos < limit) {
+                        if (data[pos] == QUOTE) {
+                            if (pos + 1 < limit && data[pos + 1] == QUOTE) {
+                                pos += 2;
+                                continue;
+                            }
+                            break;
+                        }
+                        pos++;
+                    }
+                    // No closing quote yet, or one that may be the first of an escaped pair
+                    if (!eof && pos + 1 >= limit) {
+                        return INCOMPLETE;
+                    }
+                    starts[fieldCount] = start;
+                    ends[fieldCount] = Math.min(pos, limit);
+                    quoted[fieldCount] = true;
+                    pos++;
+                    // Ignore anything between the closing quote and the delimiter
+                    while (pos < limit && data[pos] != COMMA && data[pos] != LF && data[pos] != CR) {
+                        pos++;
+                    }
+                } else {
+                    int start = pos;
+                    while (pos < limit) {
+                        byte b = data[pos];
+                        if (b == COMMA || b == LF || b == CR) {
+                            break;
+                        }
+                        pos++;
+                    }
+                    starts[fieldCount] = start;
+                    ends[fieldCount] = pos;
+                    quoted[fieldCount] = false;
+                }
+                fieldCount++;
+
+                if (pos >= limit) {
+                    return eof ? limit : INCOMPLETE;
+                }
+                byte delimiter = data[pos];
+                if (delimiter == COMMA) {
+                    pos++;
+                    continue;
+                }
+                if (delimiter == CR && pos + 1 == limit && !eof) {
+                    return INCOMPLETE;
+                }
+                if (delimiter == CR && pos + 1 < limit && data[pos + 1] == LF) {
+                    return pos + 2;
+                }
+                return pos + 1;
+            }
+        }
+
+        private void decodeRecord() {
+            for (int col = 0; col < fieldCount; col++) {
+                if (starts[col] == ends[col]) {
+                    continue;
+                }
+                switch (plan.columnKind(col)) {
+                    case NUMERIC -> {
+                        double value = quoted[col] ? Double.NaN : number(starts[col], ends[col]);
+                        if (Double.isNaN(value)) {
+                            // Leave odd values to the cell decoders so they are reported
+                            cells.setString(col, text(col));
+                        } else {
+                            cells.setNumeric(col, value, false);
+                        }
+                    }
+                    case TEXT -> cells.setString(col, text(col));
+                    default -> {
+                        // column is not bound to any field
+                    }
+                }
+            }
+        }
+
+        // Plain decimal number parsed from the raw bytes, or NaN
+        private double number(int from, int to) {
+            while (from < to && data[from] == ' ') {
+                from++;
+            }
+            while (to > from && data[to - 1] == ' ') {
+                to--;
+            }
+            if (from == to) {
+                return Double.NaN;
+            }
+            boolean negative = false;
+            byte first = data[from];
+            if (first == '-' || first == '+') {
+                negative = first == '-';
+                from++;
+            }
+            long mantissa = 0;
+            int scale = -1;
+            int digits = 0;
+            for (int i = from; i < to; i++) {
+                byte b = data[i];
+                if (b >= '0' && b <= '9') {
+                    if (++digits > 15) {
+                        return Double.NaN;
+                    }
+                    mantissa = mantissa * 10 + (b - '0');
+                    if (scale >= 0) {
+                        scale++;
+                    }
+                } else if (b == '.' && scale < 0) {
+                    scale = 0;
+                } else {
+                    return Double.NaN;
+                }
+            }
+            if (digits == 0) {
+                return Double.NaN;
+            }
+            double value = scale > 0 ? mantissa / Math.pow(10, scale) : mantissa;
+            return negative ? -value : value;
+        }
+
+        private String text(int col) {
+            int from = starts[col];
+            int to = ends[col];
+            int len = to - from;
+            if (len > scratch.length) {
+                scratch = new byte[Math.max(len, scratch.length * 2)];
+            }
+            int out = 0;
+            for (int i = from; i < to; i++) {
+                byte b = data[i];
+                scratch[out++] = b;
+                // An escaped quote inside a quoted field is written twice
+                if (b == QUOTE && quoted[col] && i + 1 < to && data[i + 1] == QUOTE) {
+                    i++;
+                }
+            }
+            return new String(scratch, 0, out, StandardCharsets.UTF_8);
+        }
+
+        private void ensureFieldCapacity() {
+            if (fieldCount == starts.length) {
+                int newLength = starts.length * 2;
+                starts = Arrays.copyOf(starts, newLength);
+                ends = Arrays.copyOf(ends, newLength);
+                quoted = Arrays.copyOf(quoted, newLength);
+            }
+        }
+    }
+}
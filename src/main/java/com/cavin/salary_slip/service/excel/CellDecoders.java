@@ -0,0 +1,121 @@
+package com.cavin.salary_slip.service.excel;
+
+import com.cavin.salary_slip.model.DecodeError;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellReference;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts typed cells of a {@link RowCells} buffer into model values.
+ * One instance is used per read: distinct date and amount strings are
+ * classified once and memoized, and cells that cannot be decoded are
+ * collected as {@link DecodeError}s instead of being silently defaulted.
+ */
+public class CellDecoders {
+
+    public static final int MAX_RETAINED_ERRORS = 500;
+    private static final int MAX_MEMO_ENTRIES = 10_000;
+
+    private final Map<String, LocalDate> dateMemo = new HashMap<>();
+    private final Map<String, Double> amountMemo = new HashMap<>();
+    private final List<DecodeError> errors = new ArrayList<>();
+    private int errorCount;
+
+    public String text(RowCells row, int col) {
+        return switch (row.kind(col)) {
+            case STRING -> row.text(col).trim();
+            case DATE -> DateUtil.getJavaDate(row.number(col)).toString();
+            case NUMERIC -> String.valueOf((long) row.number(col)).trim();
+            case BOOLEAN -> String.valueOf(row.bool(col));
+            default -> "";
+        };
+    }
+
+    // Blank cells decode to 0; anything else that is not a number is reported
+    public double amount(RowCells row, int col, String field) {
+        switch (row.kind(col)) {
+            case NUMERIC, DATE:
+                return row.number(col);
+            case STRING:
+                String raw = row.text(col);
+                Double value = amountMemo.get(raw);
+                if (value == null) {
+                    value = ValueShapes.parseAmount(raw);
+                    if (amountMemo.size() < MAX_MEMO_ENTRIES) {
+                        amountMemo.put(raw, value);
+                    }
+                }
+                if (!value.isNaN()) {
+                    return value;
+                }
+                if (!raw.isBlank()) {
+                    reject(row, col, field, raw, "Not a number");
+                }
+                return 0.0;
+            case BOOLEAN:
+                reject(row, col, field, String.valueOf(row.bool(col)), "Not a number");
+                return 0.0;
+            case ERROR:
+                reject(row, col, field, row.text(col), "Cell contains an error value");
+                return 0.0;
+            default:
+                return 0.0;
+        }
+    }
+
+    // Returns null when the cell holds no recognisable date
+    public LocalDate date(RowCells row, int col, String field) {
+        switch (row.kind(col)) {
+            case DATE:
+                return DateUtil.getLocalDateTime(row.number(col)).toLocalDate();
+            case NUMERIC:
+                // A date serial without a date format applied
+                double serial = row.number(col);
+                if (DateUtil.isValidExcelDate(serial)) {
+                    return DateUtil.getLocalDateTime(serial).toLocalDate();
+                }
+                reject(row, col, field, String.valueOf(serial), "Not a valid date serial");
+                return null;
+            case STRING:
+                String raw = row.text(col).trim();
+                LocalDate date = dateMemo.get(raw);
+                if (date == null && !dateMemo.containsKey(raw)) {
+                    date = ValueShapes.parseDate(raw);
+                    if (dateMemo.size() < MAX_MEMO_ENTRIES) {
+                        dateMemo.put(raw, date);
+                    }
+                }
+                if (date == null) {
+                    reject(row, col, field, raw, "Unrecognised date format");
+                }
+                return date;
+            case BLANK:
+                reject(row, col, field, "", "Missing date");
+                return null;
+            default:
+                reject(row, col, field, row.text(col), "Not a date");
+                return null;
+        }
+    }
+
+    public List<DecodeError> getErrors() {
+        return errors;
+    }
+
+    public int getErrorCount() {
+        return errorCount;
+    }
+
+    private void reject(RowCells row, int col, String field, String value, String message) {
+        errorCount++;
+        if (errors.size() < MAX_RETAINED_ERRORS) {
+            errors.add(new DecodeError(row.getRowNum() + 1, CellReference.convertNumToColString(col),
+                    field, value, message));
+        }
+    }
+}
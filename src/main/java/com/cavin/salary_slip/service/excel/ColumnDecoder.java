@@ -0,0 +1,14 @@
+package com.cavin.salary_slip.service.excel;
+
+import com.cavin.salary_slip.model.Employee;
+import com.cavin.salary_slip.model.SalaryDetails;
+
+/**
+ * Decodes one bound column of a row straight into the target model.
+ * Instances are created once per sheet when the header is compiled.
+ */
+@FunctionalInterface
+public interface ColumnDecoder {
+
+    void decode(RowCells row, Employee employee, SalaryDetails salary);
+}
@@ -0,0 +1,153 @@
+package com.cavin.salary_slip.service.excel;
+
+import com.cavin.salary_slip.constants.AppConstants;
+import com.cavin.salary_slip.model.Employee;
+import com.cavin.salary_slip.model.SalaryDetails;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Describes the employee columns of a payroll sheet and compiles a header row
+ * into a {@link RowBindingPlan}. Header names are matched case-insensitively
+ * ignoring spaces and punctuation, so "Emp_Id", "Emp. - Id" and "EMP ID" all bind.
+ */
+public final class EmployeeSchema {
+
+    private static final List<FieldSpec> FIELDS = List.of(
+            text("empId", 0, Employee::setEmpId, "Emp_Id", "Employee Id", AppConstants.LABEL_EMP_ID),
+            text("employeeName", 1, Employee::setEmployeeName, "Employee_Name", AppConstants.LABEL_NAME),
+            text("designation", 2, Employee::setDesignation, AppConstants.LABEL_DESIGNATION),
+            text("bankAccountNo", 3, Employee::setBankAccountNo, "Bank_Account_No", AppConstants.LABEL_BANK_ACCOUNT),
+            text("ifscCode", 4, Employee::setIfscCode, "IFSC_Code", AppConstants.LABEL_IFSC),
+            text("uanNo", 5, Employee::setUanNo, "UAN_No", AppConstants.LABEL_UAN),
+            integer("payableDays", 6, Employee::setPayableDays, "Payable_Days", AppConstants.LABEL_PAYABLE_DAYS),
+            date("salaryDate", 7, Employee::setSalaryDate, "Salary_Date", AppConstants.LABEL_MONTH_YEAR),
+            text("panNo", 8, Employee::setPanNo, "PAN_No", AppConstants.LABEL_PAN),
+            text("aadharNo", 9, Employee::setAadharNo, "Aadhar_No", AppConstants.LABEL_AADHAR),
+            amount("basic", 10, SalaryDetails::setBasic, AppConstants.BASIC_LABEL),
+            amount("hra", 11, SalaryDetails::setHra, "HRA", AppConstants.HRA_LABEL),
+            amount("da", 12, SalaryDetails::setDa, "DA", AppConstants.DA_LABEL),
+            amount("specialAllowance", 13, SalaryDetails::setSpecialAllowance, "Special_Allowance",
+                    AppConstants.SPECIAL_ALLOWANCE_LABEL),
+            amount("travellingAllowance", 14, SalaryDetails::setTravellingAllowance, "Travelling_Allowance",
+                    AppConstants.TRAVEL_ALLOWANCE_LABEL),
+            amount("incomeTax", 15, SalaryDetails::setIncomeTax, "Income_Tax", "TDS", AppConstants.INCOME_TAX_LABEL),
+            amount("epf", 16, SalaryDetails::setEpf, AppConstants.EPF_LABEL),
+            amount("leaveDeduction", 17, SalaryDetails::setLeaveDeduction, "Leave_Deduction",
+                    AppConstants.LEAVE_DEDUCTION_LABEL)
+    );
+
+    private EmployeeSchema() {
+    }
+
+    /**
+     * Resolves the header row against the known field names plus the configured aliases.
+     * If no header cell matches any field, the legacy fixed column layout is used.
+     */
+    public static RowBindingPlan compile(RowCells header, Map<String, List<String>> aliases, CellDecoders cellDecoders) {
+        Map<String, FieldSpec> byHeader = headerIndex(aliases);
+
+        // Indexed by each field's default column, which is unique per field
+        int[] columns = new int[FIELDS.size()];
+        Arrays.fill(columns, -1);
+        boolean anyMatch = false;
+        for (int col = 0; col < header.width(); col++) {
+            if (header.kind(col) != RowCells.Kind.STRING) {
+                continue;
+            }
+            FieldSpec field = byHeader.get(normalize(header.text(col)));
+            if (field != null && columns[field.defaultColumn] < 0) {
+                columns[field.defaultColumn] = col;
+                anyMatch = true;
+            }
+        }
+
+        List<ColumnDecoder> decoders = new ArrayList<>(FIELDS.size());
+        List<String> unbound = new ArrayList<>();
+        RowBindingPlan.ColumnKind[] kinds = new RowBindingPlan.ColumnKind[Math.max(header.width(), FIELDS.size())];
+        Arrays.fill(kinds, RowBindingPlan.ColumnKind.UNUSED);
+        for (FieldSpec field : FIELDS) {
+            int col = anyMatch ? columns[field.defaultColumn] : field.defaultColumn;
+            if (col < 0) {
+                unbound.add(field.name);
+                continue;
+            }
+            decoders.add(field.binder.bind(col, cellDecoders));
+            kinds[col] = field.kind;
+        }
+        return new RowBindingPlan(decoders.toArray(new ColumnDecoder[0]), kinds, unbound, !anyMatch);
+    }
+
+    private static Map<String, FieldSpec> headerIndex(Map<String, List<String>> aliases) {
+        Map<String, FieldSpec> byName = new HashMap<>();
+        Map<String, FieldSpec> byHeader = new HashMap<>();
+        for (FieldSpec field : FIELDS) {
+            byName.put(normalize(field.name), field);
+            byHeader.putIfAbsent(normalize(field.name), field);
+            for (String header : field.headers) {
+                byHeader.putIfAbsent(normalize(header), field);
+            }
+        }
+        if (aliases != null) {
+            aliases.forEach((fieldName, names) -> {
+                FieldSpec field = byName.get(normalize(fieldName));
+                if (field == null) {
+                    throw new IllegalStateException("Unknown field in header aliases: " + fieldName);
+                }
+                for (String alias : names) {
+                    // Configured aliases take precedence over the built-in names
+                    byHeader.put(normalize(alias), field);
+                }
+            });
+        }
+        return byHeader;
+    }
+
+    static String normalize(String header) {
+        StringBuilder sb = new StringBuilder(header.length());
+        for (int i = 0; i < header.length(); i++) {
+            char ch = header.charAt(i);
+            if (Character.isLetterOrDigit(ch)) {
+                sb.append(Character.toLowerCase(ch));
+            }
+        }
+        return sb.toString();
+    }
+
+    @FunctionalInterface
+    private interface ColumnBinder {
+        ColumnDecoder bind(int column, CellDecoders decoders);
+    }
+
+    private record FieldSpec(String name, int defaultColumn, RowBindingPlan.ColumnKind kind, String[] headers,
+                             ColumnBinder binder) {
+    }
+
+    private static FieldSpec text(String name, int col, BiConsumer<Employee, String> setter, String... headers) {
+        return new FieldSpec(name, col, RowBindingPlan.ColumnKind.TEXT, headers,
+                (column, decoders) -> (row, employee, salary) -> setter.accept(employee, decoders.text(row, column)));
+    }
+
+    private static FieldSpec integer(String name, int col, ObjIntConsumer<Employee> setter, String... headers) {
+        return new FieldSpec(name, col, RowBindingPlan.ColumnKind.NUMERIC, headers,
+                (column, decoders) -> (row, employee, salary) -> setter.accept(employee, (int) decoders.amount(row, column, name)));
+    }
+
+    private static FieldSpec date(String name, int col, BiConsumer<Employee, LocalDate> setter, String... headers) {
+        return new FieldSpec(name, col, RowBindingPlan.ColumnKind.TEXT, headers,
+                (column, decoders) -> (row, employee, salary) -> setter.accept(employee, decoders.date(row, column, name)));
+    }
+
+    private static FieldSpec amount(String name, int col, ObjDoubleConsumer<SalaryDetails> setter, String... headers) {
+        return new FieldSpec(name, col, RowBindingPlan.ColumnKind.NUMERIC, headers,
+                (column, decoders) -> (row, employee, salary) -> setter.accept(salary, decoders.amount(row, column, name)));
+    }
+}
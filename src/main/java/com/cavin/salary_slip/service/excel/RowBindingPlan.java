@@ -0,0 +1,54 @@
+package com.cavin.salary_slip.service.excel;
+
+import com.cavin.salary_slip.model.Employee;
+import com.cavin.salary_slip.model.SalaryDetails;
+
+import java.util.List;
+
+/**
+ * Compiled accessor plan for one sheet: an array of column decoders resolved
+ * from the header row. Decoding a row runs the array without any header lookups.
+ */
+public final class RowBindingPlan {
+
+    public enum ColumnKind {
+        UNUSED, TEXT, NUMERIC
+    }
+
+    private final ColumnDecoder[] decoders;
+    private final ColumnKind[] columnKinds;
+    private final List<String> unboundFields;
+    private final boolean positional;
+
+    RowBindingPlan(ColumnDecoder[] decoders, ColumnKind[] columnKinds, List<String> unboundFields, boolean positional) {
+        this.decoders = decoders;
+        this.columnKinds = columnKinds;
+        this.unboundFields = List.copyOf(unboundFields);
+        this.positional = positional;
+    }
+
+    public Employee decode(RowCells row) {
+        Employee employee = new Employee();
+        SalaryDetails salary = new SalaryDetails();
+        for (ColumnDecoder decoder : decoders) {
+            decoder.decode(row, employee, salary);
+        }
+        employee.setSalaryDetails(salary);
+        return employee;
+    }
+
+    // How a source column is consumed, so text readers can skip unused columns and parse numbers in place
+    public ColumnKind columnKind(int col) {
+        return col < columnKinds.length ? columnKinds[col] : ColumnKind.UNUSED;
+    }
+
+    // Fields with no matching header column; they keep their default values
+    public List<String> getUnboundFields() {
+        return unboundFields;
+    }
+
+    // True when no header matched and the legacy fixed column layout is used
+    public boolean isPositional() {
+        return positional;
+    }
+}
@@ -0,0 +1,109 @@
+package com.cavin.salary_slip.service.excel;
+
+import java.util.Arrays;
+
+/**
+ * Reusable, typed view of a single spreadsheet row.
+ * One instance is recycled for every row of a sheet so that the streaming
+ * reader does not allocate per-cell objects.
+ */
+public final class RowCells {
+
+    public enum Kind {
+        BLANK, STRING, NUMERIC, DATE, BOOLEAN, ERROR
+    }
+
+    private static final int INITIAL_WIDTH = 32;
+
+    private Kind[] kinds = new Kind[INITIAL_WIDTH];
+    private String[] texts = new String[INITIAL_WIDTH];
+    private double[] numbers = new double[INITIAL_WIDTH];
+    private int width;
+    private int rowNum;
+
+    public RowCells() {
+        Arrays.fill(kinds, Kind.BLANK);
+    }
+
+    // Reset the buffer before the next row is decoded into it
+    public void clear(int rowNum) {
+        for (int i = 0; i < width; i++) {
+            kinds[i] = Kind.BLANK;
+            texts[i] = null;
+            numbers[i] = 0d;
+        }
+        this.width = 0;
+        this.rowNum = rowNum;
+    }
+
+    public void setString(int col, String value) {
+        ensureCapacity(col);
+        kinds[col] = Kind.STRING;
+        texts[col] = value;
+    }
+
+    public void setNumeric(int col, double value, boolean date) {
+        ensureCapacity(col);
+        kinds[col] = date ? Kind.DATE : Kind.NUMERIC;
+        numbers[col] = value;
+    }
+
+    public void setBoolean(int col, boolean value) {
+        ensureCapacity(col);
+        kinds[col] = Kind.BOOLEAN;
+        numbers[col] = value ? 1d : 0d;
+    }
+
+    public void setError(int col, String value) {
+        ensureCapacity(col);
+        kinds[col] = Kind.ERROR;
+        texts[col] = value;
+    }
+
+    public Kind kind(int col) {
+        return col < width ? kinds[col] : Kind.BLANK;
+    }
+
+    public String text(int col) {
+        return col < width ? texts[col] : null;
+    }
+
+    public double number(int col) {
+        return col < width ? numbers[col] : 0d;
+    }
+
+    public boolean bool(int col) {
+        return kind(col) == Kind.BOOLEAN && numbers[col] != 0d;
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int getRowNum() {
+        return rowNum;
+    }
+
+    public boolean isEmpty() {
+        for (int i = 0; i < width; i++) {
+            if (kinds[i] != Kind.BLANK) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void ensureCapacity(int col) {
+        if (col >= kinds.length) {
+            int newLength = Math.max(kinds.length * 2, col + 1);
+            int oldLength = kinds.length;
+            kinds = Arrays.copyOf(kinds, newLength);
+            Arrays.fill(kinds, oldLength, newLength, Kind.BLANK);
+            texts = Arrays.copyOf(texts, newLength);
+            numbers = Arrays.copyOf(numbers, newLength);
+        }
+        if (col >= width) {
+            width = col + 1;
+        }
+    }
+}
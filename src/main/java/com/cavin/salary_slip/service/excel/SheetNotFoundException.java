@@ -0,0 +1,14 @@
+package com.cavin.salary_slip.service.excel;
+
+/**
+ * Thrown when the requested sheet name or index does not exist in the workbook.
+ * Extends IllegalArgumentException so callers can fall back to a default sheet.
+ */
+public class SheetNotFoundException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    public SheetNotFoundException(String message) {
+        super(message);
+    }
+}
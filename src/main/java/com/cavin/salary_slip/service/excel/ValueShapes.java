@@ -0,0 +1,194 @@
+package com.cavin.salary_slip.service.excel;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * Exception-free recognisers for the string shapes found in payroll sheets.
+ * Each parser inspects characters directly and returns a sentinel instead of throwing.
+ */
+final class ValueShapes {
+
+    private static final String[] MONTHS = {
+            "january", "february", "march", "april", "may", "june",
+            "july", "august", "september", "october", "november", "december"
+    };
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private ValueShapes() {
+    }
+
+    /**
+     * Parses "dd/MM/yyyy", "EEE MMM dd HH:mm:ss zzz yyyy" (java.util.Date#toString)
+     * and "MMM yyyy" / "MMMM yyyy". Returns null when the text matches none of them.
+     */
+    static LocalDate parseDate(String text) {
+        int len = text.length();
+        if (len == 10 && text.charAt(2) == '/' && text.charAt(5) == '/') {
+            return dayMonthYear(text);
+        }
+        int space = text.indexOf(' ');
+        if (space < 0) {
+            return null;
+        }
+        if (text.indexOf(' ', space + 1) < 0) {
+            // Month and year, e.g. "Jun 2025" or "June 2025"
+            int month = month(text, 0, space);
+            int year = digits(text, space + 1, len);
+            return month > 0 && year > 0 && len - space - 1 == 4 ? LocalDate.of(year, month, 1) : null;
+        }
+        return dateToString(text);
+    }
+
+    // dd/MM/yyyy; days past the end of the month are clamped, as the SMART resolver did
+    private static LocalDate dayMonthYear(String text) {
+        int day = digits(text, 0, 2);
+        int month = digits(text, 3, 5);
+        int year = digits(text, 6, 10);
+        if (day < 1 || day > 31 || month < 1 || month > 12 || year < 0) {
+            return null;
+        }
+        YearMonth yearMonth = YearMonth.of(year, month);
+        return yearMonth.atDay(Math.min(day, yearMonth.lengthOfMonth()));
+    }
+
+    // "Mon Jun 30 00:00:00 IST 2025": month is the 2nd token, day the 3rd, year the last
+    private static LocalDate dateToString(String text) {
+        int first = text.indexOf(' ');
+        int second = text.indexOf(' ', first + 1);
+        int third = text.indexOf(' ', second + 1);
+        int last = text.lastIndexOf(' ');
+        if (third < 0 || last <= third) {
+            return null;
+        }
+        int month = month(text, first + 1, second);
+        int day = digits(text, second + 1, third);
+        int year = digits(text, last + 1, text.length());
+        if (month < 1 || day < 1 || year < 0 || text.length() - last - 1 != 4) {
+            return null;
+        }
+        YearMonth yearMonth = YearMonth.of(year, month);
+        return day <= yearMonth.lengthOfMonth() ? yearMonth.atDay(day) : null;
+    }
+
+    // Month number for a 3-letter abbreviation or full English name, or -1
+    private static int month(String text, int from, int to) {
+        int len = to - from;
+        if (len < 3) {
+            return -1;
+        }
+        for (int m = 0; m < MONTHS.length; m++) {
+            String name = MONTHS[m];
+            if ((len == 3 || len == name.length()) && text.regionMatches(true, from, name, 0, len)) {
+                return m + 1;
+            }
+        }
+        return -1;
+    }
+
+    // Non-negative integer from an all-digit range, or -1
+    private static int digits(String text, int from, int to) {
+        if (to <= from || to - from > 9) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char ch = text.charAt(i);
+            if (ch < '0' || ch > '9') {
+                return -1;
+            }
+            value = value * 10 + (ch - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Parses an amount such as "12,345.50", "-200" or " 7008 ".
+     * Returns NaN when the text is not a plain decimal number.
+     */
+    static double parseAmount(String text) {
+        int from = 0;
+        int to = text.length();
+        while (from < to && Character.isWhitespace(text.charAt(from))) {
+            from++;
+        }
+        while (to > from && Character.isWhitespace(text.charAt(to - 1))) {
+            to--;
+        }
+        if (from == to) {
+            return Double.NaN;
+        }
+        boolean negative = false;
+        char first = text.charAt(from);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            from++;
+        }
+
+        long mantissa = 0;
+        int significant = 0;
+        int scale = -1;
+        boolean anyDigit = false;
+        for (int i = from; i < to; i++) {
+            char ch = text.charAt(i);
+            if (ch >= '0' && ch <= '9') {
+                anyDigit = true;
+                if (mantissa != 0 || ch != '0') {
+                    significant++;
+                }
+                if (significant > 18) {
+                    return slowParse(text, from, to, negative);
+                }
+                mantissa = mantissa * 10 + (ch - '0');
+                if (scale >= 0) {
+                    scale++;
+                }
+            } else if (ch == '.' && scale < 0) {
+                scale = 0;
+            } else if (ch != ',' || scale >= 0) {
+                return Double.NaN;
+            }
+        }
+        if (!anyDigit) {
+            return Double.NaN;
+        }
+        int fraction = Math.max(scale, 0);
+        if (fraction >= POWERS_OF_TEN.length || mantissa > (1L << 53)) {
+            return slowParse(text, from, to, negative);
+        }
+        // Both operands are exact doubles, so a single division is correctly rounded
+        double value = mantissa / POWERS_OF_TEN[fraction];
+        return negative ? -value : value;
+    }
+
+    // Long or high-precision inputs; validated here so parseDouble cannot throw
+    private static double slowParse(String text, int from, int to, boolean negative) {
+        StringBuilder sb = new StringBuilder(to - from + 1);
+        if (negative) {
+            sb.append('-');
+        }
+        for (int i = from; i < to; i++) {
+            char ch = text.charAt(i);
+            if (ch != ',') {
+                sb.append(ch);
+            }
+        }
+        int dots = 0;
+        for (int i = negative ? 1 : 0; i < sb.length(); i++) {
+            char ch = sb.charAt(i);
+            if (ch == '.') {
+                dots++;
+            } else if (ch < '0' || ch > '9') {
+                return Double.NaN;
+            }
+        }
+        if (dots > 1) {
+            return Double.NaN;
+        }
+        return Double.parseDouble(sb.toString());
+    }
+}
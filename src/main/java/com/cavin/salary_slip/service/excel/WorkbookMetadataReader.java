@@ -0,0 +1,100 @@
+package com.cavin.salary_slip.service.excel;
+
+import com.cavin.salary_slip.model.SheetInfo;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamReader;
+import java.io.File;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads sheet names and used ranges straight from the OPC package.
+ * Only workbook.xml and the first few elements of each sheet part are parsed;
+ * shared strings, styles and row data are never touched.
+ */
+public final class WorkbookMetadataReader {
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = XMLHelper.newXMLInputFactory();
+
+    private WorkbookMetadataReader() {
+    }
+
+    public static List<String> readSheetNames(File file) throws Exception {
+        List<String> names = new ArrayList<>();
+        try (OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ)) {
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) new XSSFReader(pkg).getSheetsData();
+            while (sheets.hasNext()) {
+                sheets.next().close();
+                names.add(sheets.getSheetName());
+            }
+        }
+        return names;
+    }
+
+    public static List<SheetInfo> readSheetInfo(File file) throws Exception {
+        List<SheetInfo> infos = new ArrayList<>();
+        try (OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ)) {
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) new XSSFReader(pkg).getSheetsData();
+            while (sheets.hasNext()) {
+                String dimension;
+                try (InputStream sheetData = sheets.next()) {
+                    dimension = readDimension(sheetData);
+                }
+                infos.add(new SheetInfo(sheets.getSheetName(), dimension, rowCount(dimension)));
+            }
+        }
+        return infos;
+    }
+
+    // The <dimension> element precedes <sheetData>, so parsing stops before any row is read
+    private static String readDimension(InputStream sheetData) throws Exception {
+        XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(sheetData);
+        try {
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+                    String name = reader.getLocalName();
+                    if ("dimension".equals(name)) {
+                        return reader.getAttributeValue(null, "ref");
+                    }
+                    if ("sheetData".equals(name)) {
+                        return null;
+                    }
+                }
+            }
+            return null;
+        } finally {
+            reader.close();
+        }
+    }
+
+    static int rowCount(String dimension) {
+        if (dimension == null || dimension.isEmpty()) {
+            return -1;
+        }
+        int colon = dimension.indexOf(':');
+        if (colon < 0) {
+            return 1;
+        }
+        int first = rowNumber(dimension, 0, colon);
+        int last = rowNumber(dimension, colon + 1, dimension.length());
+        return first > 0 && last >= first ? last - first + 1 : -1;
+    }
+
+    private static int rowNumber(String ref, int from, int to) {
+        int row = 0;
+        for (int i = from; i < to; i++) {
+            char ch = ref.charAt(i);
+            if (ch >= '0' && ch <= '9') {
+                row = row * 10 + (ch - '0');
+            }
+        }
+        return row;
+    }
+}
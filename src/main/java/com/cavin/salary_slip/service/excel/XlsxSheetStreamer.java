@@ -0,0 +1,266 @@
+package com.cavin.salary_slip.service.excel;
+
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.SharedStrings;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import java.io.File;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Streams the rows of one worksheet using the XSSF event model (SAX).
+ * Only the shared strings and styles tables are held in memory; sheet rows
+ * are decoded into a single recycled {@link RowCells} buffer, so heap usage
+ * does not grow with the number of rows.
+ */
+public final class XlsxSheetStreamer {
+
+    private XlsxSheetStreamer() {
+    }
+
+    /**
+     * Streams every row of the selected sheet to {@code rowConsumer}.
+     * The sheet is selected by name when {@code sheetName} is non-empty,
+     * otherwise by {@code sheetIndex}.
+     *
+     * @return the name of the sheet that was read
+     */
+    public static String stream(File file, int sheetIndex, String sheetName, Consumer<RowCells> rowConsumer)
+            throws Exception {
+        try (OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            SharedStrings sharedStrings = new ReadOnlySharedStringsTable(pkg, false);
+            StylesTable styles = reader.getStylesTable();
+
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            boolean byName = sheetName != null && !sheetName.isEmpty();
+            int index = 0;
+            while (sheets.hasNext()) {
+                try (InputStream sheetData = sheets.next()) {
+                    boolean match = byName ? sheetName.equals(sheets.getSheetName()) : index == sheetIndex;
+                    if (match) {
+                        parseSheet(sheetData, sharedStrings, styles, rowConsumer);
+                        return sheets.getSheetName();
+                    }
+                }
+                index++;
+            }
+            if (byName) {
+                throw new SheetNotFoundException("Sheet not found: " + sheetName);
+            }
+            throw new SheetNotFoundException("Invalid sheet index: " + sheetIndex);
+        }
+    }
+
+    /**
+     * Streams several sheets of one workbook, opening the package and loading the
+     * shared strings and styles only once. Sheets are parsed concurrently on
+     * {@code executor}; {@code handlerForSheet} supplies the row consumer of each sheet.
+     *
+     * @param sheetNames sheets to read, or null/empty for every sheet
+     * @return the names of the sheets read, in workbook order
+     */
+    public static List<String> streamSheets(File file, List<String> sheetNames, ExecutorService executor,
+                                            Function<String, Consumer<RowCells>> handlerForSheet) throws Exception {
+        try (OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            SharedStrings sharedStrings = new ReadOnlySharedStringsTable(pkg, false);
+            StylesTable styles = reader.getStylesTable();
+
+            boolean all = sheetNames == null || sheetNames.isEmpty();
+            Map<String, PackagePart> parts = new LinkedHashMap<>();
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            while (sheets.hasNext()) {
+                sheets.next().close();
+                if (all || sheetNames.contains(sheets.getSheetName())) {
+                    parts.put(sheets.getSheetName(), sheets.getSheetPart());
+                }
+            }
+            if (!all) {
+                for (String name : sheetNames) {
+                    if (!parts.containsKey(name)) {
+                        throw new SheetNotFoundException("Sheet not found: " + name);
+                    }
+                }
+            }
+
+            List<Future<?>> futures = new ArrayList<>(parts.size());
+            for (Map.Entry<String, PackagePart> entry : parts.entrySet()) {
+                Consumer<RowCells> rowConsumer = handlerForSheet.apply(entry.getKey());
+                PackagePart part = entry.getValue();
+                futures.add(executor.submit(() -> {
+                    try (InputStream sheetData = part.getInputStream()) {
+                        parseSheet(sheetData, sharedStrings, styles, rowConsumer);
+                    }
+                    return null;
+                }));
+            }
+            try {
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } catch (ExecutionException e) {
+                futures.forEach(f -> f.cancel(true));
+                throw e.getCause() instanceof Exception cause ? cause : e;
+            }
+            return new ArrayList<>(parts.keySet());
+        }
+    }
+
+    static void parseSheet(InputStream sheetData, SharedStrings sharedStrings, StylesTable styles,
+                           Consumer<RowCells> rowConsumer) throws Exception {
+        XMLReader xmlReader = XMLHelper.newXMLReader();
+        xmlReader.setContentHandler(new SheetHandler(sharedStrings, styles, rowConsumer));
+        xmlReader.parse(new InputSource(sheetData));
+    }
+
+    /**
+     * Converts the column letters of an A1-style reference into a zero-based index
+     * without allocating a CellReference.
+     */
+    static int columnIndex(String cellRef) {
+        int col = 0;
+        for (int i = 0; i < cellRef.length(); i++) {
+            char ch = cellRef.charAt(i);
+            if (ch < 'A' || ch > 'Z') {
+                break;
+            }
+            col = col * 26 + (ch - 'A' + 1);
+        }
+        return col - 1;
+    }
+
+    private static final class SheetHandler extends DefaultHandler {
+        private final SharedStrings sharedStrings;
+        private final StylesTable styles;
+        private final Consumer<RowCells> rowConsumer;
+        private final RowCells cells = new RowCells();
+        private final StringBuilder value = new StringBuilder(64);
+
+        // Per style index: 0 = unknown, 1 = date format, 2 = not a date format
+        private byte[] dateStyles = new byte[64];
+
+        private int nextRowNum;
+        private int column;
+        private int nextColumn;
+        private String cellType;
+        private int styleIndex;
+        private boolean collecting;
+        private boolean inInlineString;
+
+        SheetHandler(SharedStrings sharedStrings, StylesTable styles, Consumer<RowCells> rowConsumer) {
+            this.sharedStrings = sharedStrings;
+            this.styles = styles;
+            this.rowConsumer = rowConsumer;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            switch (localName) {
+                case "row" -> {
+                    String r = attributes.getValue("r");
+                    int rowNum = r != null ? Integer.parseInt(r) - 1 : nextRowNum;
+                    nextRowNum = rowNum + 1;
+                    nextColumn = 0;
+                    cells.clear(rowNum);
+                }
+                case "c" -> {
+                    String ref = attributes.getValue("r");
+                    column = ref != null ? columnIndex(ref) : nextColumn;
+                    nextColumn = column + 1;
+                    cellType = attributes.getValue("t");
+                    String style = attributes.getValue("s");
+                    styleIndex = style != null ? Integer.parseInt(style) : 0;
+                    value.setLength(0);
+                }
+                case "v" -> collecting = true;
+                case "is" -> inInlineString = true;
+                case "t" -> collecting = inInlineString;
+                default -> {
+                    // formulas, rich text runs and other markup are ignored
+                }
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (collecting) {
+                value.append(ch, start, length);
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            switch (localName) {
+                case "v", "t" -> collecting = false;
+                case "is" -> inInlineString = false;
+                case "c" -> commitCell();
+                case "row" -> rowConsumer.accept(cells);
+                default -> {
+                    // nothing to do
+                }
+            }
+        }
+
+        private void commitCell() {
+            if (cellType == null || "n".equals(cellType)) {
+                if (value.length() > 0) {
+                    cells.setNumeric(column, Double.parseDouble(value.toString()), isDateStyle(styleIndex));
+                }
+                return;
+            }
+            switch (cellType) {
+                case "s" -> {
+                    if (value.length() > 0) {
+                        int idx = Integer.parseInt(value.toString());
+                        cells.setString(column, sharedStrings.getItemAt(idx).getString());
+                    }
+                }
+                case "inlineStr", "str" -> cells.setString(column, value.toString());
+                case "b" -> cells.setBoolean(column, value.length() > 0 && value.charAt(0) == '1');
+                case "e" -> cells.setError(column, value.toString());
+                default -> {
+                    // unknown cell types are treated as blank
+                }
+            }
+        }
+
+        private boolean isDateStyle(int idx) {
+            if (styles == null) {
+                return false;
+            }
+            if (idx >= dateStyles.length) {
+                byte[] grown = new byte[Math.max(dateStyles.length * 2, idx + 1)];
+                System.arraycopy(dateStyles, 0, grown, 0, dateStyles.length);
+                dateStyles = grown;
+            }
+            if (dateStyles[idx] == 0) {
+                XSSFCellStyle style = idx < styles.getNumCellStyles() ? styles.getStyleAt(idx) : null;
+                boolean date = style != null
+                        && DateUtil.isADateFormat(style.getDataFormat(), style.getDataFormatString());
+                dateStyles[idx] = (byte) (date ? 1 : 2);
+            }
+            return dateStyles[idx] == 1;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.cavin.salary_slip.service.job;
+
+import com.cavin.salary_slip.model.BatchSummary;
+import com.cavin.salary_slip.model.JobStatus;
+import com.cavin.salary_slip.service.BatchProgress;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One asynchronous slip batch. The job counts the progress events of its batch and
+ * turns them into a {@link JobStatus} on request; reading the status never blocks
+ * the batch.
+ */
+public final class GenerationJob implements BatchProgress {
+
+    public enum State {
+        QUEUED, RUNNING, SUCCEEDED, FAILED
+    }
+
+    private final String id;
+    private final String outputDir;
+    private final LongAdder rowsParsed = new LongAdder();
+    private final LongAdder slipsRendered = new LongAdder();
+    private final LongAdder slipsWritten = new LongAdder();
+    private final LongAdder slipsFailed = new LongAdder();
+
+    private volatile State state = State.QUEUED;
+    private volatile long startedNanos;
+    private volatile long finishedNanos;
+    private volatile String message;
+    private volatile List<BatchSummary.SlipFailure> failures = List.of();
+
+    public GenerationJob(String id, String outputDir) {
+        this.id = id;
+        this.outputDir = outputDir;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getOutputDir() {
+        return outputDir;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public boolean isFinished() {
+        return state == State.SUCCEEDED || state == State.FAILED;
+    }
+
+    void start() {
+        startedNanos = System.nanoTime();
+        state = State.RUNNING;
+    }
+
+    void succeed(BatchSummary summary, String message) {
+        this.failures = summary.failures();
+        finish(State.SUCCEEDED, message);
+    }
+
+    void fail(String message) {
+        finish(State.FAILED, message);
+    }
+
+    private void finish(State state, String message) {
+        this.message = message;
+        finishedNanos = System.nanoTime();
+        this.state = state;
+    }
+
+    public JobStatus status() {
+        State current = state;
+        long elapsedNanos = 0;
+        if (current != State.QUEUED) {
+            long end = current == State.RUNNING ? System.nanoTime() : finishedNanos;
+            elapsedNanos = end - startedNanos;
+        }
+        long written = slipsWritten.sum();
+        double slipsPerSecond = elapsedNanos > 0 ? written * 1e9 / elapsedNanos : 0d;
+        return new JobStatus(id, current.name(), rowsParsed.sum(), slipsRendered.sum(), written, slipsFailed.sum(),
+                slipsPerSecond, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), outputDir, message, failures);
+    }
+
+    @Override
+    public void rowRead() {
+        rowsParsed.increment();
+    }
+
+    @Override
+    public void slipRendered() {
+        slipsRendered.increment();
+    }
+
+    @Override
+    public void slipWritten() {
+        slipsWritten.increment();
+    }
+
+    @Override
+    public void slipFailed() {
+        slipsFailed.increment();
+    }
+}
@@ -0,0 +1,189 @@
+package com.cavin.salary_slip.service.job;
+
+import com.cavin.salary_slip.constants.AppConstants;
+import com.cavin.salary_slip.model.BatchSummary;
+import com.cavin.salary_slip.model.JobStatus;
+import com.cavin.salary_slip.service.PayrollRegisterService;
+import com.cavin.salary_slip.service.SlipPipelineService;
+import com.cavin.salary_slip.service.SlipSource;
+import com.cavin.salary_slip.service.payroll.PayrollColumns;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs slip batches in the background. {@link #submit} hands the batch to the
+ * bounded job executor and returns at once; the job's status can then be polled or
+ * streamed as server-sent events until it finishes.
+ * <p>
+ * The most recent {@code salary.slip.jobs.retained} jobs are kept for status
+ * requests. Progress streams are fed by a single ticker thread, so a slow client
+ * never holds up a batch.
+ */
+@Service
+public class GenerationJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GenerationJobService.class);
+
+    private static final String PROGRESS_EVENT = "progress";
+
+    private final SlipPipelineService slipPipelineService;
+    private final PayrollRegisterService payrollRegisterService;
+    private final ExecutorService jobExecutor;
+
+    // Guarded by itself; in submission order, so the oldest finished jobs are evicted first
+    private final Map<String, GenerationJob> jobs = new LinkedHashMap<>();
+    private final Map<SseEmitter, GenerationJob> subscribers = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService ticker =
+            Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("slip-job-progress").daemon().factory());
+
+    @Value("${salary.slip.jobs.retained:100}")
+    private int retainedJobs;
+
+    @Value("${salary.slip.jobs.progress-interval-ms:500}")
+    private long progressIntervalMillis;
+
+    @Value("${salary.slip.jobs.events-timeout-ms:1800000}")
+    private long eventsTimeoutMillis;
+
+    public GenerationJobService(SlipPipelineService slipPipelineService, PayrollRegisterService payrollRegisterService,
+                                @Qualifier("jobExecutor") ExecutorService jobExecutor) {
+        this.slipPipelineService = slipPipelineService;
+        this.payrollRegisterService = payrollRegisterService;
+        this.jobExecutor = jobExecutor;
+    }
+
+    // Id for a job that is about to be submitted, also used to name its output directory
+    public String newJobId() {
+        return UUID.randomUUID().toString();
+    }
+
+    /**
+     * Queues a batch that writes the slips of {@code source} and its payroll register
+     * to {@code outputDir}, which the job creates once it starts, so a rejected job
+     * leaves nothing behind. {@code cleanup} runs once the job has finished, whatever
+     * its outcome, but not when the job is rejected.
+     *
+     * @throws RejectedExecutionException when every job worker is busy and the queue is full
+     */
+    public GenerationJob submit(String id, SlipSource source, String outputDir, String period, Runnable cleanup) {
+        GenerationJob job = new GenerationJob(id, outputDir);
+        jobExecutor.execute(() -> run(job, source, period, cleanup));
+        retain(job);
+        logger.info("Queued generation job {} for {}", id, outputDir);
+        return job;
+    }
+
+    public GenerationJob find(String id) {
+        synchronized (jobs) {
+            return jobs.get(id);
+        }
+    }
+
+    /**
+     * Streams the status of {@code job} every {@code salary.slip.jobs.progress-interval-ms}
+     * as "progress" events, and completes the stream after the final status.
+     */
+    public SseEmitter subscribe(GenerationJob job) {
+        SseEmitter emitter = new SseEmitter(eventsTimeoutMillis);
+        emitter.onCompletion(() -> subscribers.remove(emitter));
+        emitter.onTimeout(() -> subscribers.remove(emitter));
+        emitter.onError(e -> subscribers.remove(emitter));
+        subscribers.put(emitter, job);
+        ticker.execute(() -> publish(emitter, job));
+        return emitter;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdownNow();
+        subscribers.keySet().forEach(SseEmitter::complete);
+        subscribers.clear();
+    }
+
+    private void run(GenerationJob job, SlipSource source, String period, Runnable cleanup) {
+        job.start();
+        try {
+            Files.createDirectories(Path.of(job.getOutputDir()));
+            PayrollColumns.Builder register = PayrollColumns.builder();
+            BatchSummary summary = slipPipelineService.run(
+                    payrollRegisterService.collecting(source, register), job.getOutputDir(), job);
+            String registerWarning = payrollRegisterService.generateForBatch(register.build(), summary.failures(),
+                    period, job.getOutputDir());
+            String message = summary.failed() > 0
+                    ? String.format(AppConstants.PARTIAL_SUCCESS_MESSAGE_FORMAT,
+                            summary.succeeded(), job.getOutputDir(), summary.failed())
+                    : String.format(AppConstants.SUCCESS_MESSAGE_FORMAT, summary.succeeded(), job.getOutputDir());
+            if (registerWarning != null) {
+                message = String.format(AppConstants.REGISTER_WARNING_FORMAT, message, registerWarning);
+            }
+            job.succeed(summary, message);
+            logger.info("Generation job {}: {}", job.getId(), message);
+        } catch (Throwable e) {
+            // Errors too, or the job would be reported as running forever
+            String message = String.format(AppConstants.GENERATE_ERROR_FORMAT, e.getMessage());
+            job.fail(message);
+            logger.error("Generation job {} failed: {}", job.getId(), message, e);
+        } finally {
+            cleanup.run();
+        }
+    }
+
+    private void retain(GenerationJob job) {
+        synchronized (jobs) {
+            jobs.put(job.getId(), job);
+            Iterator<GenerationJob> oldest = jobs.values().iterator();
+            while (jobs.size() > Math.max(1, retainedJobs) && oldest.hasNext()) {
+                // Queued and running jobs are never forgotten
+                if (oldest.next().isFinished()) {
+                    oldest.remove();
+                }
+            }
+        }
+    }
+
+    private void publish(SseEmitter emitter, GenerationJob job) {
+        if (!subscribers.containsKey(emitter)) {
+            return;
+        }
+        // Read before the status, so the final status is always sent before completing
+        boolean finished = job.isFinished();
+        JobStatus status = job.status();
+        try {
+            emitter.send(SseEmitter.event().name(PROGRESS_EVENT).id(job.getId()).data(status));
+        } catch (IOException | IllegalStateException e) {
+            // The client went away; the emitter's error callback unsubscribes it
+            subscribers.remove(emitter);
+            return;
+        }
+        if (finished) {
+            subscribers.remove(emitter);
+            emitter.complete();
+            return;
+        }
+        try {
+            ticker.schedule(() -> publish(emitter, job), progressIntervalMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+            emitter.complete();
+        }
+    }
+}
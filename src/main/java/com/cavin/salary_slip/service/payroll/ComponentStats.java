@@ -0,0 +1,15 @@
+package com.cavin.salary_slip.service.payroll;
+
+/**
+ * Aggregate of one salary component over a set of rows, in paise. Min and max are
+ * zero when there are no rows.
+ */
+public record ComponentStats(int count, long sum, long min, long max) {
+
+    static final ComponentStats EMPTY = new ComponentStats(0, 0L, 0L, 0L);
+
+    // Average rounded to the nearest paisa
+    public long average() {
+        return count > 0 ? Math.round((double) sum / count) : 0L;
+    }
+}
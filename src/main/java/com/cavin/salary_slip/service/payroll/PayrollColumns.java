@@ -0,0 +1,281 @@
+package com.cavin.salary_slip.service.payroll;
+
+import com.cavin.salary_slip.model.Employee;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * A batch of employees stored column by column: one primitive array per salary
+ * component (in paise) and dictionary-encoded designations. Aggregates are a
+ * single pass over a long array instead of a walk over Employee and SalaryDetails
+ * objects, and a batch costs a few arrays rather than two objects per row.
+ * <p>
+ * Build one with {@link #builder()}, which can be fed straight from a sheet
+ * reader. Instances are immutable and safe to share between threads.
+ */
+public final class PayrollColumns {
+
+    private static final PayrollComponent[] COMPONENTS = PayrollComponent.values();
+
+    private final int size;
+    private final long[][] amounts;
+    private final int[] payableDays;
+    private final String[] empIds;
+    private final String[] names;
+    private final int[] designationCodes;
+    private final String[] designations;
+
+    private PayrollColumns(int size, long[][] amounts, int[] payableDays, String[] empIds, String[] names,
+                           int[] designationCodes, String[] designations) {
+        this.size = size;
+        this.amounts = amounts;
+        this.payableDays = payableDays;
+        this.empIds = empIds;
+        this.names = names;
+        this.designationCodes = designationCodes;
+        this.designations = designations;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    // Columns of a batch that is already held as a list
+    public static PayrollColumns of(List<Employee> employees) {
+        Builder builder = new Builder();
+        employees.forEach(builder::add);
+        return builder.build();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * The same batch without the rows set in {@code rows} (0-based), e.g. rows whose
+     * slip could not be generated. Designations that no longer occur are dropped.
+     */
+    public PayrollColumns without(BitSet rows) {
+        int removed = rows.get(0, size).cardinality();
+        if (removed == 0) {
+            return this;
+        }
+        int kept = size - removed;
+        long[][] keptAmounts = new long[COMPONENTS.length][kept];
+        int[] keptDays = new int[kept];
+        String[] keptEmpIds = new String[kept];
+        String[] keptNames = new String[kept];
+        int[] keptCodes = new int[kept];
+        int[] recoded = new int[designations.length];
+        Arrays.fill(recoded, -1);
+        List<String> keptDesignations = new ArrayList<>();
+
+        int out = 0;
+        for (int row = 0; row < size; row++) {
+            if (rows.get(row)) {
+                continue;
+            }
+            for (int c = 0; c < COMPONENTS.length; c++) {
+                keptAmounts[c][out] = amounts[c][row];
+            }
+            keptDays[out] = payableDays[row];
+            keptEmpIds[out] = empIds[row];
+            keptNames[out] = names[row];
+            int code = designationCodes[row];
+            if (recoded[code] < 0) {
+                recoded[code] = keptDesignations.size();
+                keptDesignations.add(designations[code]);
+            }
+            keptCodes[out] = recoded[code];
+            out++;
+        }
+        return new PayrollColumns(kept, keptAmounts, keptDays, keptEmpIds, keptNames, keptCodes,
+                keptDesignations.toArray(new String[0]));
+    }
+
+    public long amount(PayrollComponent component, int row) {
+        return amounts[component.ordinal()][row];
+    }
+
+    public int payableDays(int row) {
+        return payableDays[row];
+    }
+
+    public String empId(int row) {
+        return empIds[row];
+    }
+
+    public String employeeName(int row) {
+        return names[row];
+    }
+
+    public String designation(int row) {
+        return designations[designationCodes[row]];
+    }
+
+    // Distinct designations in order of first appearance
+    public List<String> designations() {
+        return List.of(designations);
+    }
+
+    // Raw column access for reductions in this package; never handed out
+    long[] column(PayrollComponent component) {
+        return amounts[component.ordinal()];
+    }
+
+    int designationCode(int row) {
+        return designationCodes[row];
+    }
+
+    int designationCount() {
+        return designations.length;
+    }
+
+    public long sum(PayrollComponent component) {
+        long[] column = amounts[component.ordinal()];
+        long sum = 0;
+        for (int row = 0; row < size; row++) {
+            sum += column[row];
+        }
+        return sum;
+    }
+
+    public long min(PayrollComponent component) {
+        return stats(component).min();
+    }
+
+    public long max(PayrollComponent component) {
+        return stats(component).max();
+    }
+
+    public ComponentStats stats(PayrollComponent component) {
+        return stats(component, 0, size);
+    }
+
+    // Aggregate of rows [from, to); lets callers split a large batch into ranges
+    public ComponentStats stats(PayrollComponent component, int from, int to) {
+        if (from >= to) {
+            return ComponentStats.EMPTY;
+        }
+        long[] column = amounts[component.ordinal()];
+        long sum = 0;
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (int row = from; row < to; row++) {
+            long value = column[row];
+            sum += value;
+            if (value < min) {
+                min = value;
+            }
+            if (value > max) {
+                max = value;
+            }
+        }
+        return new ComponentStats(to - from, sum, min, max);
+    }
+
+    /**
+     * Aggregate of a component per designation, in order of first appearance.
+     * Rows are bucketed by their dictionary code, so no string is hashed per row.
+     */
+    public Map<String, ComponentStats> statsByDesignation(PayrollComponent component) {
+        long[] column = amounts[component.ordinal()];
+        int groups = designations.length;
+        int[] counts = new int[groups];
+        long[] sums = new long[groups];
+        long[] mins = new long[groups];
+        long[] maxes = new long[groups];
+        Arrays.fill(mins, Long.MAX_VALUE);
+        Arrays.fill(maxes, Long.MIN_VALUE);
+        for (int row = 0; row < size; row++) {
+            int code = designationCodes[row];
+            long value = column[row];
+            counts[code]++;
+            sums[code] += value;
+            if (value < mins[code]) {
+                mins[code] = value;
+            }
+            if (value > maxes[code]) {
+                maxes[code] = value;
+            }
+        }
+        Map<String, ComponentStats> result = new LinkedHashMap<>();
+        for (int code = 0; code < groups; code++) {
+            result.put(designations[code], new ComponentStats(counts[code], sums[code], mins[code], maxes[code]));
+        }
+        return result;
+    }
+
+    /**
+     * Collects employees into growing column arrays. Employees can be handed over
+     * one at a time as rows are read, so the batch is never held as objects.
+     * Not thread-safe.
+     */
+    public static final class Builder implements Consumer<Employee> {
+        private static final int INITIAL_CAPACITY = 256;
+
+        private int size;
+        private long[][] amounts = new long[COMPONENTS.length][INITIAL_CAPACITY];
+        private int[] payableDays = new int[INITIAL_CAPACITY];
+        private String[] empIds = new String[INITIAL_CAPACITY];
+        private String[] names = new String[INITIAL_CAPACITY];
+        private int[] designationCodes = new int[INITIAL_CAPACITY];
+        private final Map<String, Integer> dictionary = new HashMap<>();
+        private final List<String> designations = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        @Override
+        public void accept(Employee employee) {
+            add(employee);
+        }
+
+        public Builder add(Employee employee) {
+            if (size == payableDays.length) {
+                grow();
+            }
+            for (PayrollComponent component : COMPONENTS) {
+                amounts[component.ordinal()][size] = component.paise(employee.getSalaryDetails());
+            }
+            payableDays[size] = employee.getPayableDays();
+            empIds[size] = employee.getEmpId();
+            names[size] = employee.getEmployeeName();
+            String designation = employee.getDesignation() != null ? employee.getDesignation() : "";
+            designationCodes[size] = dictionary.computeIfAbsent(designation, key -> {
+                designations.add(key);
+                return designations.size() - 1;
+            });
+            size++;
+            return this;
+        }
+
+        public PayrollColumns build() {
+            long[][] columns = new long[COMPONENTS.length][];
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = Arrays.copyOf(amounts[i], size);
+            }
+            return new PayrollColumns(size, columns, Arrays.copyOf(payableDays, size), Arrays.copyOf(empIds, size),
+                    Arrays.copyOf(names, size), Arrays.copyOf(designationCodes, size),
+                    designations.toArray(new String[0]));
+        }
+
+        private void grow() {
+            int capacity = payableDays.length * 2;
+            for (int i = 0; i < amounts.length; i++) {
+                amounts[i] = Arrays.copyOf(amounts[i], capacity);
+            }
+            payableDays = Arrays.copyOf(payableDays, capacity);
+            empIds = Arrays.copyOf(empIds, capacity);
+            names = Arrays.copyOf(names, capacity);
+            designationCodes = Arrays.copyOf(designationCodes, capacity);
+        }
+    }
+}
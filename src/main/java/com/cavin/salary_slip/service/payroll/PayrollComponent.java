@@ -0,0 +1,40 @@
+package com.cavin.salary_slip.service.payroll;
+
+import com.cavin.salary_slip.constants.AppConstants;
+import com.cavin.salary_slip.model.SalaryDetails;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * Salary components held as columns of a {@link PayrollColumns}, in paise.
+ */
+public enum PayrollComponent {
+    BASIC(AppConstants.BASIC_LABEL, SalaryDetails::getBasicPaise),
+    HRA(AppConstants.HRA_LABEL, SalaryDetails::getHraPaise),
+    DA(AppConstants.DA_LABEL, SalaryDetails::getDaPaise),
+    SPECIAL_ALLOWANCE(AppConstants.SPECIAL_ALLOWANCE_LABEL, SalaryDetails::getSpecialAllowancePaise),
+    TRAVELLING_ALLOWANCE(AppConstants.TRAVEL_ALLOWANCE_LABEL, SalaryDetails::getTravellingAllowancePaise),
+    INCOME_TAX(AppConstants.INCOME_TAX_LABEL, SalaryDetails::getIncomeTaxPaise),
+    EPF(AppConstants.EPF_LABEL, SalaryDetails::getEpfPaise),
+    LEAVE_DEDUCTION(AppConstants.LEAVE_DEDUCTION_LABEL, SalaryDetails::getLeaveDeductionPaise),
+    TOTAL_EARNINGS(AppConstants.TOTAL_EARNING_LABEL, SalaryDetails::getTotalEarningsPaise),
+    TOTAL_DEDUCTIONS(AppConstants.TOTAL_DEDUCTION_LABEL, SalaryDetails::getTotalDeductionsPaise),
+    NET_SALARY(AppConstants.NET_SALARY_LABEL, SalaryDetails::getNetSalaryPaise);
+
+    private final String label;
+    private final ToLongFunction<SalaryDetails> paise;
+
+    PayrollComponent(String label, ToLongFunction<SalaryDetails> paise) {
+        this.label = label;
+        this.paise = paise;
+    }
+
+    // Label printed on the slip
+    public String label() {
+        return label;
+    }
+
+    long paise(SalaryDetails salary) {
+        return salary != null ? paise.applyAsLong(salary) : 0L;
+    }
+}
@@ -0,0 +1,126 @@
+package com.cavin.salary_slip.service.payroll;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Everything a payroll register needs, gathered in one pass over a
+ * {@link PayrollColumns}: the total of every component and, per designation, the
+ * head count and the total of every component. All amounts are in paise.
+ * <p>
+ * The rows are split into ranges that are summed on a fork-join pool and merged
+ * pairwise, so each row is read once and no lock is taken.
+ */
+public final class RegisterTotals {
+
+    // Ranges smaller than this are summed on the current thread
+    private static final int SPLIT_THRESHOLD = 4096;
+
+    private static final PayrollComponent[] COMPONENTS = PayrollComponent.values();
+
+    private final List<String> designations;
+    private final long[] totals;
+    private final int[] headcounts;
+    private final long[][] designationTotals;
+
+    private RegisterTotals(List<String> designations) {
+        this.designations = designations;
+        this.totals = new long[COMPONENTS.length];
+        this.headcounts = new int[designations.size()];
+        this.designationTotals = new long[designations.size()][COMPONENTS.length];
+    }
+
+    public static RegisterTotals of(PayrollColumns columns) {
+        return of(columns, ForkJoinPool.commonPool());
+    }
+
+    public static RegisterTotals of(PayrollColumns columns, ForkJoinPool pool) {
+        return pool.invoke(new RangeTask(columns, 0, columns.size()));
+    }
+
+    public int headcount() {
+        int headcount = 0;
+        for (int count : headcounts) {
+            headcount += count;
+        }
+        return headcount;
+    }
+
+    public long total(PayrollComponent component) {
+        return totals[component.ordinal()];
+    }
+
+    // Distinct designations in order of first appearance
+    public List<String> designations() {
+        return designations;
+    }
+
+    public int headcount(int designation) {
+        return headcounts[designation];
+    }
+
+    public long total(int designation, PayrollComponent component) {
+        return designationTotals[designation][component.ordinal()];
+    }
+
+    private void addRows(PayrollColumns columns, int from, int to) {
+        for (int row = from; row < to; row++) {
+            headcounts[columns.designationCode(row)]++;
+        }
+        // Column by column, so each pass streams through one primitive array
+        for (PayrollComponent component : COMPONENTS) {
+            int c = component.ordinal();
+            long[] column = columns.column(component);
+            long sum = 0;
+            for (int row = from; row < to; row++) {
+                long value = column[row];
+                sum += value;
+                designationTotals[columns.designationCode(row)][c] += value;
+            }
+            totals[c] += sum;
+        }
+    }
+
+    private RegisterTotals merge(RegisterTotals other) {
+        for (int c = 0; c < totals.length; c++) {
+            totals[c] += other.totals[c];
+        }
+        for (int d = 0; d < headcounts.length; d++) {
+            headcounts[d] += other.headcounts[d];
+            for (int c = 0; c < totals.length; c++) {
+                designationTotals[d][c] += other.designationTotals[d][c];
+            }
+        }
+        return this;
+    }
+
+    // Serializable only because ForkJoinTask is; tasks never leave the pool, so their state is transient
+    private static final class RangeTask extends RecursiveTask<RegisterTotals> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient PayrollColumns columns;
+        private final transient int from;
+        private final transient int to;
+
+        RangeTask(PayrollColumns columns, int from, int to) {
+            this.columns = columns;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected RegisterTotals compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                RegisterTotals totals = new RegisterTotals(columns.designations());
+                totals.addRows(columns, from, to);
+                return totals;
+            }
+            int middle = (from + to) >>> 1;
+            RangeTask left = new RangeTask(columns, from, middle);
+            left.fork();
+            RegisterTotals right = new RangeTask(columns, middle, to).compute();
+            return left.join().merge(right);
+        }
+    }
+}
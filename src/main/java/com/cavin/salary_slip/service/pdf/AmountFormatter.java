@@ -0,0 +1,84 @@
+package com.cavin.salary_slip.service.pdf;
+
+/**
+ * Formats amounts held in paise the way they are printed on a slip: Indian digit
+ * grouping (lakh and crore) and exactly two decimals, e.g. {@code 12,34,567.80}.
+ * Digits are written straight into a char buffer, without going through a double,
+ * {@link java.math.BigDecimal} or a {@link java.text.NumberFormat}.
+ * <p>
+ * {@link #format(long)} also remembers the text of recently formatted amounts. The
+ * slips of a batch repeat many amounts (zero deductions, fixed allowances, the same
+ * basic pay for a grade), and a repeated amount returns the same String without
+ * allocating. {@link #append} writes into a caller's builder and never allocates.
+ * <p>
+ * An instance reuses its buffers and is not thread-safe; use one per rendering thread.
+ */
+public final class AmountFormatter {
+
+    // Long.MIN_VALUE paise: 19 digits, 7 group separators, the point and a sign
+    public static final int MAX_LENGTH = 28;
+
+    // Direct-mapped: an amount can only live in one slot, a newer amount evicts it
+    private static final int CACHE_BITS = 8;
+
+    private final char[] buffer = new char[MAX_LENGTH];
+    private final long[] cachedPaise = new long[1 << CACHE_BITS];
+    private final String[] cachedText = new String[1 << CACHE_BITS];
+
+    public String format(long paise) {
+        int slot = slot(paise);
+        String text = cachedText[slot];
+        if (text != null && cachedPaise[slot] == paise) {
+            return text;
+        }
+        int start = format(paise, buffer, MAX_LENGTH);
+        text = new String(buffer, start, MAX_LENGTH - start);
+        cachedPaise[slot] = paise;
+        cachedText[slot] = text;
+        return text;
+    }
+
+    public StringBuilder append(StringBuilder target, long paise) {
+        int start = format(paise, buffer, MAX_LENGTH);
+        return target.append(buffer, start, MAX_LENGTH - start);
+    }
+
+    // Fibonacci hashing spreads round amounts, which share their low bits, over the slots
+    private static int slot(long paise) {
+        return (int) ((paise * 0x9E3779B97F4A7C15L) >>> (Long.SIZE - CACHE_BITS));
+    }
+
+    /**
+     * Writes the amount right-aligned into {@code dest}, ending just before {@code end}.
+     *
+     * @return index of the first character written
+     */
+    public static int format(long paise, char[] dest, int end) {
+        boolean negative = paise < 0;
+        int pos = end;
+
+        // Work on the negated value so that Long.MIN_VALUE does not overflow
+        long value = negative ? paise : -paise;
+        for (int i = 0; i < 2; i++) {
+            dest[--pos] = (char) ('0' - value % 10);
+            value /= 10;
+        }
+        dest[--pos] = '.';
+
+        // Last three rupee digits form one group, every group above them has two
+        int digits = 0;
+        do {
+            if (digits == 3 || (digits > 3 && (digits - 3) % 2 == 0)) {
+                dest[--pos] = ',';
+            }
+            dest[--pos] = (char) ('0' - value % 10);
+            value /= 10;
+            digits++;
+        } while (value != 0);
+
+        if (negative) {
+            dest[--pos] = '-';
+        }
+        return pos;
+    }
+}
@@ -0,0 +1,112 @@
+package com.cavin.salary_slip.service.pdf;
+
+import com.itextpdf.text.Image;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.File;
+
+/**
+ * Holds the decoded logo so the PNG is read and decoded once instead of once per slip.
+ * The entry is reloaded only when the configured path changes or the file on disk is
+ * modified. Callers get a shallow copy that shares the decoded image data, so renders
+ * on different threads never mutate the cached instance.
+ */
+public final class LogoImageCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(LogoImageCache.class);
+
+    // Stamp of resources that cannot change while the application runs (e.g. inside the jar)
+    private static final long IMMUTABLE = 0L;
+    private static final long MISSING = -1L;
+
+    private volatile Entry entry;
+    private int generation;
+
+    /**
+     * @return a copy of the decoded logo, or null when it could not be loaded
+     */
+    public Image get(String logoPath) {
+        Entry current = current(logoPath);
+        return current.image() != null ? Image.getInstance(current.image()) : null;
+    }
+
+    /**
+     * Same logo with its pixels re-encoded by {@link PngPredictor}, for size-optimized output.
+     *
+     * @return a copy of the re-encoded logo, or null when it could not be loaded
+     */
+    public Image getCompact(String logoPath) {
+        Entry current = current(logoPath);
+        return current.compactImage() != null ? Image.getInstance(current.compactImage()) : null;
+    }
+
+    // Changes whenever the logo is reloaded, so callers can invalidate what they built from it
+    public int generation(String logoPath) {
+        return current(logoPath).generation();
+    }
+
+    private Entry current(String logoPath) {
+        Entry current = entry;
+        if (current == null || !current.path().equals(logoPath) || current.stamp() != stamp(logoPath)) {
+            current = reload(logoPath);
+        }
+        return current;
+    }
+
+    private synchronized Entry reload(String logoPath) {
+        long stamp = stamp(logoPath);
+        Entry current = entry;
+        if (current != null && current.path().equals(logoPath) && current.stamp() == stamp) {
+            return current;
+        }
+        Image image = load(logoPath);
+        current = new Entry(logoPath, stamp, image, compact(image), ++generation);
+        entry = current;
+        return current;
+    }
+
+    private Image load(String logoPath) {
+        try {
+            // Try to load from classpath resources first
+            ClassPathResource resource = new ClassPathResource(logoPath);
+            if (resource.exists()) {
+                return Image.getInstance(resource.getInputStream().readAllBytes());
+            }
+            // Fallback to file system if resource doesn't exist
+            return Image.getInstance(logoPath);
+        } catch (Exception e) {
+            logger.warn("Could not load logo image from path: {}. Using text header instead.", logoPath, e);
+            return null;
+        }
+    }
+
+    private Image compact(Image image) {
+        if (image == null) {
+            return null;
+        }
+        try {
+            return PngPredictor.encode(image);
+        } catch (Exception e) {
+            logger.warn("Could not re-encode logo image, using it as decoded", e);
+            return image;
+        }
+    }
+
+    private long stamp(String logoPath) {
+        try {
+            ClassPathResource resource = new ClassPathResource(logoPath);
+            if (resource.exists()) {
+                return resource.isFile() ? resource.getFile().lastModified() : IMMUTABLE;
+            }
+            File file = new File(logoPath);
+            return file.exists() ? file.lastModified() : MISSING;
+        } catch (Exception e) {
+            return MISSING;
+        }
+    }
+
+    private record Entry(String path, long stamp, Image image, Image compactImage, int generation) {
+    }
+}
@@ -0,0 +1,74 @@
+package com.cavin.salary_slip.service.pdf;
+
+import com.cavin.salary_slip.constants.AppConstants;
+import com.itextpdf.text.Font;
+import com.itextpdf.text.Phrase;
+import com.itextpdf.text.pdf.BaseFont;
+import com.itextpdf.text.pdf.PdfPCell;
+
+/**
+ * Fonts and cell styles shared by every slip, built once from {@link AppConstants}.
+ * Fonts are bound to their base font up front, so rendering a cell no longer
+ * allocates a Font or looks up the base font; only the cell and its phrase are new.
+ * <p>
+ * iText fonts are mutable, so the shared instances never leave this class: the
+ * font accessors hand out copies, which reuse the resolved base font. The palette
+ * is never mutated after class initialization and is safe to share between
+ * rendering threads.
+ */
+public final class PdfStylePalette {
+
+    private static final BaseFont REGULAR_BASE_FONT = baseFont(false);
+    private static final BaseFont BOLD_BASE_FONT = baseFont(true);
+
+    private static final Font NORMAL_FONT = new Font(REGULAR_BASE_FONT, AppConstants.FONT_SIZE_NORMAL);
+    private static final Font BOLD_FONT = new Font(BOLD_BASE_FONT, AppConstants.FONT_SIZE_NORMAL);
+    private static final Font HEADER_FONT = new Font(BOLD_BASE_FONT, AppConstants.FONT_SIZE_HEADER);
+    private static final Font SIGNATURE_FONT = new Font(REGULAR_BASE_FONT, AppConstants.FONT_SIZE_SIGNATURE);
+
+    private PdfStylePalette() {
+    }
+
+    // Bordered body cell used by the employee and salary tables
+    public static PdfPCell cell(String text, int alignment, boolean bold) {
+        PdfPCell cell = new PdfPCell(new Phrase(text, bold ? BOLD_FONT : NORMAL_FONT));
+        cell.setHorizontalAlignment(alignment);
+        cell.setPadding(AppConstants.CELL_PADDING);
+        return cell;
+    }
+
+    // Shaded column header of the salary table
+    public static PdfPCell headerCell(String text) {
+        PdfPCell cell = new PdfPCell(new Phrase(text, HEADER_FONT));
+        cell.setHorizontalAlignment(AppConstants.DEFAULT_CELL_ALIGN_CENTER);
+        cell.setBackgroundColor(AppConstants.HEADER_CELL_BG_COLOR);
+        cell.setPadding(AppConstants.HEADER_CELL_PADDING);
+        return cell;
+    }
+
+    // Body text, as in a regular cell
+    public static Font normalFont() {
+        return new Font(NORMAL_FONT);
+    }
+
+    // Body text, as in a bold cell
+    public static Font boldFont() {
+        return new Font(BOLD_FONT);
+    }
+
+    // Titles, and the column headers of the salary table
+    public static Font headerFont() {
+        return new Font(HEADER_FONT);
+    }
+
+    // Signatory captions under the signature space
+    public static Font signatureFont() {
+        return new Font(SIGNATURE_FONT);
+    }
+
+    // Same base font iText picks for the default family, resolved once
+    private static BaseFont baseFont(boolean bold) {
+        return new Font(AppConstants.DEFAULT_FONT_FAMILY, AppConstants.FONT_SIZE_NORMAL, bold ? Font.BOLD : Font.NORMAL)
+                .getCalculatedBaseFont(false);
+    }
+}
@@ -0,0 +1,133 @@
+package com.cavin.salary_slip.service.pdf;
+
+import com.itextpdf.text.BadElementException;
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.Image;
+import com.itextpdf.text.pdf.PdfDictionary;
+import com.itextpdf.text.pdf.PdfName;
+import com.itextpdf.text.pdf.PdfNumber;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Re-encodes a decoded image with PNG row predictors before deflating it. iText
+ * writes decoded images (for example a PNG with an alpha channel) as plain
+ * deflated pixels; predicting each row from its neighbours first makes the
+ * image stream noticeably smaller without losing anything. The image is left
+ * untouched when it is not plain 8-bit pixel data.
+ */
+public final class PngPredictor {
+
+    private static final int PNG_PREDICTOR_OPTIMUM = 15;
+
+    private static final int FILTER_NONE = 0;
+    private static final int FILTER_SUB = 1;
+    private static final int FILTER_UP = 2;
+    private static final int FILTER_PAETH = 4;
+
+    // The average filter (3) is left out: iText's own reader decodes it incorrectly
+    private static final int[] FILTERS = {FILTER_NONE, FILTER_SUB, FILTER_UP, FILTER_PAETH};
+
+    private PngPredictor() {
+    }
+
+    public static Image encode(Image image) throws BadElementException {
+        byte[] pixels = image.getRawData();
+        int components = image.getColorspace();
+        int width = (int) image.getWidth();
+        int height = (int) image.getHeight();
+        if (!image.isImgRaw() || image.isDeflated() || image.isMask() || image.getBpc() != 8 || pixels == null
+                || components < 1 || pixels.length != width * height * components) {
+            return image;
+        }
+
+        int stride = width * components;
+        byte[] row = new byte[stride];
+        byte[] best = new byte[stride];
+        ByteArrayOutputStream out = new ByteArrayOutputStream(pixels.length / 2);
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try (DeflaterOutputStream deflated = new DeflaterOutputStream(out, deflater)) {
+            for (int y = 0; y < height; y++) {
+                // Keep the filter whose residuals are smallest, the usual PNG heuristic
+                int bestFilter = FILTER_NONE;
+                long bestCost = Long.MAX_VALUE;
+                for (int filter : FILTERS) {
+                    long cost = filterRow(pixels, y, stride, components, filter, row);
+                    if (cost < bestCost) {
+                        bestCost = cost;
+                        bestFilter = filter;
+                        System.arraycopy(row, 0, best, 0, stride);
+                    }
+                }
+                deflated.write(bestFilter);
+                deflated.write(best, 0, stride);
+            }
+        } catch (IOException e) {
+            // A ByteArrayOutputStream does not fail
+            throw new IllegalStateException(e);
+        } finally {
+            deflater.end();
+        }
+
+        Image encoded = Image.getInstance(width, height, components, 8, out.toByteArray());
+        encoded.setDeflated(true);
+        PdfDictionary additional = new PdfDictionary();
+        if (image.getAdditional() != null) {
+            additional.merge(image.getAdditional());
+        }
+        PdfDictionary decodeParms = new PdfDictionary();
+        decodeParms.put(PdfName.PREDICTOR, new PdfNumber(PNG_PREDICTOR_OPTIMUM));
+        decodeParms.put(PdfName.COLORS, new PdfNumber(components));
+        decodeParms.put(PdfName.BITSPERCOMPONENT, new PdfNumber(8));
+        decodeParms.put(PdfName.COLUMNS, new PdfNumber(width));
+        additional.put(PdfName.DECODEPARMS, decodeParms);
+        encoded.setAdditional(additional);
+        if (image.getImageMask() != null) {
+            try {
+                encoded.setImageMask(image.getImageMask());
+            } catch (DocumentException e) {
+                return image;
+            }
+        }
+        encoded.setInterpolation(image.isInterpolation());
+        encoded.setDpi(image.getDpiX(), image.getDpiY());
+        return encoded;
+    }
+
+    // Writes the filtered row into out and returns the sum of the absolute residuals
+    private static long filterRow(byte[] pixels, int y, int stride, int bpp, int filter, byte[] out) {
+        int offset = y * stride;
+        int previous = offset - stride;
+        long cost = 0;
+        for (int x = 0; x < stride; x++) {
+            int current = pixels[offset + x] & 0xff;
+            int left = x >= bpp ? pixels[offset + x - bpp] & 0xff : 0;
+            int up = y > 0 ? pixels[previous + x] & 0xff : 0;
+            int upperLeft = y > 0 && x >= bpp ? pixels[previous + x - bpp] & 0xff : 0;
+            int prediction = switch (filter) {
+                case FILTER_SUB -> left;
+                case FILTER_UP -> up;
+                case FILTER_PAETH -> paeth(left, up, upperLeft);
+                default -> 0;
+            };
+            byte residual = (byte) (current - prediction);
+            out[x] = residual;
+            cost += Math.abs(residual);
+        }
+        return cost;
+    }
+
+    private static int paeth(int left, int up, int upperLeft) {
+        int estimate = left + up - upperLeft;
+        int distanceLeft = Math.abs(estimate - left);
+        int distanceUp = Math.abs(estimate - up);
+        int distanceUpperLeft = Math.abs(estimate - upperLeft);
+        if (distanceLeft <= distanceUp && distanceLeft <= distanceUpperLeft) {
+            return left;
+        }
+        return distanceUp <= distanceUpperLeft ? up : upperLeft;
+    }
+}
@@ -0,0 +1,51 @@
+package com.cavin.salary_slip.service.pdf;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * A rendered slip held in a reusable byte array. The bytes can be handed to a
+ * channel or stream without copying them into a new array first. Closing the
+ * buffer returns it to the pool it came from, so it must not be used afterwards.
+ */
+public final class SlipBuffer extends ByteArrayOutputStream {
+
+    private final SlipBufferPool pool;
+    private boolean released;
+
+    SlipBuffer(SlipBufferPool pool, int initialCapacity) {
+        super(initialCapacity);
+        this.pool = pool;
+    }
+
+    // Read-only view over the rendered bytes, valid until the buffer is closed
+    public synchronized ByteBuffer asByteBuffer() {
+        return ByteBuffer.wrap(buf, 0, count).asReadOnlyBuffer();
+    }
+
+    public void writeTo(WritableByteChannel channel) throws IOException {
+        ByteBuffer bytes = asByteBuffer();
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+    }
+
+    int capacity() {
+        return buf.length;
+    }
+
+    void recycle() {
+        reset();
+        released = false;
+    }
+
+    @Override
+    public void close() {
+        if (!released) {
+            released = true;
+            pool.release(this);
+        }
+    }
+}
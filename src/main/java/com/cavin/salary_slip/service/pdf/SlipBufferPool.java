@@ -0,0 +1,36 @@
+package com.cavin.salary_slip.service.pdf;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Bounded pool of {@link SlipBuffer}s. A slip is a few tens of kilobytes, so keeping
+ * the arrays around saves allocating (and growing) a fresh one for every render.
+ * Buffers that grew unusually large are dropped instead of being retained.
+ */
+public final class SlipBufferPool {
+
+    private static final int INITIAL_CAPACITY = 32 * 1024;
+    private static final int MAX_RETAINED_CAPACITY = 1024 * 1024;
+
+    private final BlockingQueue<SlipBuffer> buffers;
+
+    public SlipBufferPool(int maxRetained) {
+        this.buffers = new ArrayBlockingQueue<>(Math.max(1, maxRetained));
+    }
+
+    public SlipBuffer acquire() {
+        SlipBuffer buffer = buffers.poll();
+        if (buffer == null) {
+            return new SlipBuffer(this, INITIAL_CAPACITY);
+        }
+        buffer.recycle();
+        return buffer;
+    }
+
+    void release(SlipBuffer buffer) {
+        if (buffer.capacity() <= MAX_RETAINED_CAPACITY) {
+            buffers.offer(buffer);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.cavin.salary_slip.service.pdf;
+
+import com.cavin.salary_slip.config.SlipEncryptionProperties;
+import com.cavin.salary_slip.model.Employee;
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.pdf.PdfWriter;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * AES password protection applied while a slip is written, so encrypting costs no
+ * second parse of the PDF. The owner password, permissions and cipher are resolved
+ * once per configuration and shared by every slip; only the user password is
+ * derived per employee. The encryption keys themselves depend on the user password
+ * and the document id, so iText has to derive them for each slip.
+ * <p>
+ * Instances are immutable and safe to share between rendering threads.
+ */
+public final class SlipEncryption {
+
+    // Slips may be printed, but not edited or copied from
+    private static final int PERMISSIONS = PdfWriter.ALLOW_PRINTING;
+    private static final String FINGERPRINT_MAC = "HmacSHA256";
+
+    private final byte[] ownerPassword;
+    private final int encryptionType;
+    private final String passwordSource;
+    private final Function<Employee, String> userPassword;
+    private final String fingerprint;
+
+    private SlipEncryption(byte[] ownerPassword, int encryptionType, String passwordSource,
+                           Function<Employee, String> userPassword) {
+        this.ownerPassword = ownerPassword;
+        this.encryptionType = encryptionType;
+        this.passwordSource = passwordSource;
+        this.userPassword = userPassword;
+        this.fingerprint = fingerprint(ownerPassword, encryptionType + ":" + passwordSource);
+    }
+
+    /**
+     * @return the configured encryption, or null when slips are written unprotected
+     */
+    public static SlipEncryption of(SlipEncryptionProperties properties) {
+        if (!properties.isEnabled()) {
+            return null;
+        }
+        if (!StringUtils.hasText(properties.getOwnerPassword())) {
+            throw new IllegalStateException("salary.slip.encryption.owner-password must be set when encryption is enabled");
+        }
+        int encryptionType = switch (properties.getKeyLength()) {
+            case 128 -> PdfWriter.ENCRYPTION_AES_128;
+            case 256 -> PdfWriter.ENCRYPTION_AES_256;
+            default -> throw new IllegalStateException(
+                    "Unsupported salary.slip.encryption.key-length: " + properties.getKeyLength());
+        };
+        String source = properties.getUserPassword();
+        Function<Employee, String> userPassword;
+        if (SlipEncryptionProperties.PASSWORD_PAN.equalsIgnoreCase(source)) {
+            userPassword = emp -> require(emp.getPanNo(), "PAN", emp).toUpperCase(Locale.ROOT);
+        } else if (SlipEncryptionProperties.PASSWORD_EMP_ID.equalsIgnoreCase(source)) {
+            userPassword = emp -> require(emp.getEmpId(), "employee id", emp);
+        } else {
+            throw new IllegalStateException("Unsupported salary.slip.encryption.user-password: " + source);
+        }
+        return new SlipEncryption(properties.getOwnerPassword().getBytes(StandardCharsets.UTF_8), encryptionType,
+                source.toLowerCase(Locale.ROOT), userPassword);
+    }
+
+    /**
+     * Resolves the user password of a slip before anything is rendered, so a row
+     * without one fails instead of producing an unprotected slip.
+     */
+    public byte[] userPassword(Employee emp) {
+        return userPassword.apply(emp).getBytes(StandardCharsets.UTF_8);
+    }
+
+    // Opens a slip written with these settings for further changes, such as signing
+    public byte[] ownerPassword() {
+        return ownerPassword.clone();
+    }
+
+    // Must be called before the document is opened
+    public void apply(PdfWriter writer, byte[] userPassword) throws DocumentException {
+        writer.setEncryption(userPassword, ownerPassword, PERMISSIONS, encryptionType);
+    }
+
+    /**
+     * Changes whenever a slip written with these settings would differ. The settings
+     * are MACed with the owner password as key, so a new owner password still
+     * invalidates cached slips while the fingerprint, which ends up in manifests and
+     * ETags, does not reveal the password.
+     */
+    public String fingerprint() {
+        return fingerprint;
+    }
+
+    private static String fingerprint(byte[] ownerPassword, String settings) {
+        try {
+            Mac mac = Mac.getInstance(FINGERPRINT_MAC);
+            mac.init(new SecretKeySpec(ownerPassword, FINGERPRINT_MAC));
+            return HexFormat.of().formatHex(mac.doFinal(settings.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String require(String value, String field, Employee emp) {
+        if (!StringUtils.hasText(value)) {
+            throw new IllegalArgumentException("No " + field + " to derive the slip password from for "
+                    + emp.getEmployeeName());
+        }
+        return value.trim();
+    }
+}
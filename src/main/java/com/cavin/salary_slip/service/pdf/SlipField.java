@@ -0,0 +1,29 @@
+package com.cavin.salary_slip.service.pdf;
+
+/**
+ * The per-employee values printed on a slip. Everything else on the page is the
+ * same for every employee of a company and is part of the {@link SlipTemplate}.
+ */
+public enum SlipField {
+    EMP_ID,
+    PAYABLE_DAYS,
+    NAME,
+    MONTH_YEAR,
+    DESIGNATION,
+    PAN,
+    BANK_ACCOUNT,
+    AADHAR,
+    IFSC,
+    UAN,
+    BASIC,
+    INCOME_TAX,
+    HRA,
+    EPF,
+    DA,
+    LEAVE_DEDUCTION,
+    SPECIAL_ALLOWANCE,
+    TRAVEL_ALLOWANCE,
+    TOTAL_EARNINGS,
+    TOTAL_DEDUCTIONS,
+    NET_SALARY
+}
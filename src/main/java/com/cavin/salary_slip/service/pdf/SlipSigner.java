@@ -0,0 +1,157 @@
+package com.cavin.salary_slip.service.pdf;
+
+import com.cavin.salary_slip.config.SlipSigningProperties;
+import com.cavin.salary_slip.constants.AppConstants;
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.Rectangle;
+import com.itextpdf.text.pdf.PdfAnnotation;
+import com.itextpdf.text.pdf.PdfFormField;
+import com.itextpdf.text.pdf.PdfReader;
+import com.itextpdf.text.pdf.PdfSignatureAppearance;
+import com.itextpdf.text.pdf.PdfStamper;
+import com.itextpdf.text.pdf.PdfWriter;
+import com.itextpdf.text.pdf.security.BouncyCastleDigest;
+import com.itextpdf.text.pdf.security.DigestAlgorithms;
+import com.itextpdf.text.pdf.security.ExternalDigest;
+import com.itextpdf.text.pdf.security.ExternalSignature;
+import com.itextpdf.text.pdf.security.MakeSignature;
+import com.itextpdf.text.pdf.security.PrivateKeySignature;
+import org.springframework.util.ResourceUtils;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.cert.Certificate;
+import java.security.cert.X509Certificate;
+import java.util.Collections;
+
+/**
+ * Signs rendered slips with a key from a PKCS#12 keystore. The keystore is read and
+ * the private key and certificate chain are extracted once, when the signer is
+ * built; every slip after that only costs the digest and one private-key operation.
+ * <p>
+ * Slips are rendered with an empty signature field in the "Director Finance"
+ * signature space (see {@link #addField}), which signing fills in with the visible
+ * signature. Instances are immutable and safe to share between rendering threads.
+ */
+public final class SlipSigner {
+
+    private static final String KEYSTORE_TYPE = "PKCS12";
+
+    // Holds no state; a new digest is created per signature
+    private static final ExternalDigest DIGEST = new BouncyCastleDigest();
+
+    private final Certificate[] chain;
+    private final ExternalSignature signature;
+    private final String reason;
+    private final String location;
+    private final String fingerprint;
+
+    private SlipSigner(PrivateKey key, Certificate[] chain, String reason, String location) {
+        this.chain = chain;
+        // Creates a fresh java.security.Signature for every call, so it can be shared
+        this.signature = new PrivateKeySignature(key, DigestAlgorithms.SHA256, null);
+        this.reason = reason;
+        this.location = location;
+        this.fingerprint = chain[0] instanceof X509Certificate certificate
+                ? certificate.getSerialNumber().toString(16) : String.valueOf(chain[0].hashCode());
+    }
+
+    /**
+     * @return the configured signer, or null when slips are not signed
+     */
+    public static SlipSigner of(SlipSigningProperties properties) {
+        if (!properties.isEnabled()) {
+            return null;
+        }
+        if (!StringUtils.hasText(properties.getKeystore())) {
+            throw new IllegalStateException("salary.slip.signing.keystore must be set when signing is enabled");
+        }
+        char[] storePassword = properties.getKeystorePassword().toCharArray();
+        char[] keyPassword = StringUtils.hasText(properties.getKeyPassword())
+                ? properties.getKeyPassword().toCharArray() : storePassword;
+        try (InputStream in = ResourceUtils.getURL(properties.getKeystore()).openStream()) {
+            KeyStore keyStore = KeyStore.getInstance(KEYSTORE_TYPE);
+            keyStore.load(in, storePassword);
+            String alias = StringUtils.hasText(properties.getKeyAlias()) ? properties.getKeyAlias() : firstKey(keyStore);
+            if (alias == null || !keyStore.isKeyEntry(alias)) {
+                throw new IllegalStateException("No private key " + (alias != null ? "'" + alias + "' " : "")
+                        + "in keystore " + properties.getKeystore());
+            }
+            PrivateKey key = (PrivateKey) keyStore.getKey(alias, keyPassword);
+            Certificate[] chain = keyStore.getCertificateChain(alias);
+            if (chain == null || chain.length == 0) {
+                throw new IllegalStateException("No certificate chain for key '" + alias + "' in keystore "
+                        + properties.getKeystore());
+            }
+            return new SlipSigner(key, chain, properties.getReason(), properties.getLocation());
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalStateException("Could not load signing keystore " + properties.getKeystore(), e);
+        }
+    }
+
+    // The space left for a manual signature at the top of a signature cell
+    public static Rectangle fieldBox(Rectangle signatureCell) {
+        return new Rectangle(signatureCell.getLeft(), signatureCell.getTop() - AppConstants.SIGNATURE_SPACING,
+                signatureCell.getRight(), signatureCell.getTop());
+    }
+
+    /**
+     * Adds the empty, printable signature field that {@link #sign} fills in. Called
+     * while the slip page is still open.
+     */
+    public static void addField(PdfWriter writer, Rectangle box) {
+        PdfFormField field = PdfFormField.createSignature(writer);
+        field.setFieldName(AppConstants.SIGNATURE_FIELD_NAME);
+        field.setWidget(box, PdfAnnotation.HIGHLIGHT_INVERT);
+        field.setFlags(PdfAnnotation.FLAGS_PRINT);
+        field.setPage();
+        writer.addAnnotation(field);
+    }
+
+    /**
+     * Signs {@code unsigned} into {@code out}. The signature is appended as an
+     * incremental update, so an encrypted slip stays encrypted; pass its owner
+     * password so it can be opened. The stream is left open for the caller to close.
+     * <p>
+     * The signature value itself is written unencrypted, as PDF viewers expect. iText's
+     * own {@code AcroFields.verifySignature} decrypts it for encrypted documents, so it
+     * cannot verify protected slips; check them from the raw signature instead.
+     */
+    public void sign(SlipBuffer unsigned, OutputStream out, byte[] ownerPassword)
+            throws IOException, DocumentException, GeneralSecurityException {
+        PdfReader reader = new PdfReader(unsigned.toByteArray(), ownerPassword);
+        try {
+            // iText closes the output once the signature is in place
+            PdfStamper stamper = PdfStamper.createSignature(reader, StreamUtils.nonClosing(out), '\0', null, true);
+            PdfSignatureAppearance appearance = stamper.getSignatureAppearance();
+            appearance.setReason(reason);
+            appearance.setLocation(location);
+            appearance.setLayer2Font(PdfStylePalette.normalFont());
+            appearance.setVisibleSignature(AppConstants.SIGNATURE_FIELD_NAME);
+            MakeSignature.signDetached(appearance, DIGEST, signature, chain, null, null, null, 0,
+                    MakeSignature.CryptoStandard.CMS);
+        } finally {
+            reader.close();
+        }
+    }
+
+    // Changes whenever slips would be signed with a different certificate or text
+    public String fingerprint() {
+        return fingerprint + ":" + reason + ":" + location;
+    }
+
+    private static String firstKey(KeyStore keyStore) throws GeneralSecurityException {
+        for (String alias : Collections.list(keyStore.aliases())) {
+            if (keyStore.isKeyEntry(alias)) {
+                return alias;
+            }
+        }
+        return null;
+    }
+}
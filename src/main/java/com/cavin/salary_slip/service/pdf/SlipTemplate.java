@@ -0,0 +1,188 @@
+package com.cavin.salary_slip.service.pdf;
+
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.Font;
+import com.itextpdf.text.Phrase;
+import com.itextpdf.text.Rectangle;
+import com.itextpdf.text.pdf.ColumnText;
+import com.itextpdf.text.pdf.PdfContentByte;
+import com.itextpdf.text.pdf.PdfImportedPage;
+import com.itextpdf.text.pdf.PdfPCell;
+import com.itextpdf.text.pdf.PdfPCellEvent;
+import com.itextpdf.text.pdf.PdfReader;
+import com.itextpdf.text.pdf.PdfWriter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * A slip rendered once with every employee value left blank, plus the position of
+ * each blank value cell. A slip is produced by placing the template page as a form
+ * XObject and writing the employee values into their slots, which skips building
+ * the tables, labels, header and signature block for every employee.
+ * <p>
+ * Instances are immutable apart from a pool of readers over the template bytes
+ * (a PdfReader must not be used by two writers at once) and are safe to share
+ * between rendering threads. The pool keeps at most one idle reader per core;
+ * readers returned beyond that, e.g. after a burst on virtual threads, are dropped.
+ */
+public final class SlipTemplate {
+
+    private static final int MAX_IDLE_READERS = Runtime.getRuntime().availableProcessors();
+
+    private final String key;
+    private final byte[] pdf;
+    private final Map<SlipField, Slot> slots;
+    private final Rectangle signatureBox;
+    private final Queue<PdfReader> readers = new ArrayBlockingQueue<>(MAX_IDLE_READERS);
+
+    private SlipTemplate(String key, byte[] pdf, Map<SlipField, Slot> slots, Rectangle signatureBox) {
+        this.key = key;
+        this.pdf = pdf;
+        this.slots = slots;
+        this.signatureBox = signatureBox;
+    }
+
+    public static Recorder recorder() {
+        return new Recorder();
+    }
+
+    // Identifies the company details and logo the template was rendered with
+    public String getKey() {
+        return key;
+    }
+
+    // Where the signature field of a signed slip goes
+    public Rectangle getSignatureBox() {
+        return signatureBox;
+    }
+
+    /**
+     * A value that is wider than its cell would wrap onto a second line in the
+     * flow layout and grow the row, which a fixed slot cannot reproduce.
+     */
+    public boolean fits(Map<SlipField, String> values) {
+        for (Map.Entry<SlipField, String> value : values.entrySet()) {
+            Slot slot = slots.get(value.getKey());
+            String text = value.getValue();
+            if (slot == null) {
+                return false;
+            }
+            if (text == null || text.isEmpty()) {
+                continue;
+            }
+            if (text.indexOf('\n') >= 0 || slot.font().getBaseFont().getWidthPoint(text, slot.font().getSize()) > slot.width()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Binds the template to a writer so several slips can be stamped into the same
+     * document; the static page is then written only once and shared by every page.
+     */
+    public Pages pages(PdfWriter writer) throws IOException {
+        PdfReader reader = readers.poll();
+        if (reader == null) {
+            reader = new PdfReader(pdf);
+        }
+        return new Pages(reader, writer);
+    }
+
+    /**
+     * The template imported into one writer. Close it once the document is closed to
+     * return the reader to the pool.
+     */
+    public final class Pages implements AutoCloseable {
+        private final PdfReader reader;
+        private final PdfContentByte canvas;
+        private final PdfImportedPage page;
+
+        private Pages(PdfReader reader, PdfWriter writer) {
+            this.reader = reader;
+            this.canvas = writer.getDirectContent();
+            this.page = writer.getImportedPage(reader, 1);
+        }
+
+        // Draws the template and the values on the current page
+        public void stamp(Map<SlipField, String> values) throws DocumentException {
+            canvas.addTemplate(page, 0, 0);
+            for (Map.Entry<SlipField, String> value : values.entrySet()) {
+                String text = value.getValue();
+                if (text != null && !text.isEmpty()) {
+                    slots.get(value.getKey()).write(canvas, text);
+                }
+            }
+        }
+
+        @Override
+        public void close() {
+            // A full pool drops the reader
+            readers.offer(reader);
+        }
+    }
+
+    /**
+     * Content box of a value cell (the cell minus its padding) and the style its
+     * text is set in.
+     */
+    private record Slot(float left, float bottom, float right, float top, int alignment, Font font) {
+
+        float width() {
+            return right - left;
+        }
+
+        // Lays the text out exactly as the table cell would
+        void write(PdfContentByte canvas, String text) throws DocumentException {
+            ColumnText column = new ColumnText(canvas);
+            column.setSimpleColumn(left, bottom, right, top);
+            column.setLeading(0, 1);
+            column.setAlignment(alignment);
+            column.addText(new Phrase(text, font));
+            column.go();
+        }
+    }
+
+    /**
+     * Collects the slot positions while the blank template is laid out. Value cells
+     * get a cell event from {@link #slot}; once the page has been rendered,
+     * {@link #build} turns the recorded positions into a template.
+     */
+    public static final class Recorder {
+        private final Map<SlipField, Slot> slots = new EnumMap<>(SlipField.class);
+        private Rectangle signatureBox;
+
+        private Recorder() {
+        }
+
+        public PdfPCellEvent signature() {
+            return (PdfPCell laidOut, Rectangle position, PdfContentByte[] canvases) ->
+                    signatureBox = SlipSigner.fieldBox(position);
+        }
+
+        public PdfPCellEvent slot(SlipField field, PdfPCell cell, Font font) {
+            float paddingLeft = cell.getEffectivePaddingLeft();
+            float paddingRight = cell.getEffectivePaddingRight();
+            float paddingTop = cell.getEffectivePaddingTop();
+            float paddingBottom = cell.getEffectivePaddingBottom();
+            int alignment = cell.getHorizontalAlignment();
+            return (PdfPCell laidOut, Rectangle position, PdfContentByte[] canvases) -> slots.put(field,
+                    new Slot(position.getLeft() + paddingLeft, position.getBottom() + paddingBottom,
+                            position.getRight() - paddingRight, position.getTop() - paddingTop, alignment, font));
+        }
+
+        public SlipTemplate build(String key, byte[] pdf) {
+            if (slots.size() != SlipField.values().length) {
+                throw new IllegalStateException("Slip template is missing value slots, recorded " + slots.keySet());
+            }
+            if (signatureBox == null) {
+                throw new IllegalStateException("Slip template is missing the signature box");
+            }
+            return new SlipTemplate(key, pdf, new EnumMap<>(slots), signatureBox);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.cavin.salary_slip.service.register;
+
+import com.cavin.salary_slip.constants.AppConstants;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Layout shared by the PDF and XLSX register documents.
+ */
+final class RegisterColumns {
+
+    static final List<String> DESIGNATION_HEADERS = List.of(AppConstants.LABEL_DESIGNATION,
+            AppConstants.REGISTER_HEADCOUNT_LABEL, AppConstants.TOTAL_EARNING_LABEL,
+            AppConstants.TOTAL_DEDUCTION_LABEL, AppConstants.EPF_LABEL, AppConstants.INCOME_TAX_LABEL,
+            AppConstants.REGISTER_NET_PAYOUT_LABEL);
+
+    static final String TOTAL_ROW_LABEL = "Total";
+
+    private RegisterColumns() {
+    }
+
+    // Register amounts are whole paise with two decimals, so this never rounds
+    static long paise(BigDecimal rupees) {
+        return rupees.movePointRight(2).longValueExact();
+    }
+}
@@ -0,0 +1,120 @@
+package com.cavin.salary_slip.service.register;
+
+import com.cavin.salary_slip.constants.AppConstants;
+import com.cavin.salary_slip.model.PayrollRegister;
+import com.cavin.salary_slip.service.payroll.PayrollComponent;
+import com.cavin.salary_slip.service.pdf.AmountFormatter;
+import com.cavin.salary_slip.service.pdf.PdfStylePalette;
+import com.itextpdf.text.Document;
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.PageSize;
+import com.itextpdf.text.Paragraph;
+import com.itextpdf.text.pdf.PdfPCell;
+import com.itextpdf.text.pdf.PdfPTable;
+import com.itextpdf.text.pdf.PdfWriter;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+
+/**
+ * Prints a {@link PayrollRegister} as a landscape A4 document: the batch totals
+ * followed by one row per designation. Uses the slip fonts from {@link PdfStylePalette}.
+ */
+public final class RegisterPdfWriter {
+
+    private static final float[] SUMMARY_COLUMN_WIDTHS = {70f, 30f};
+    private static final float[] DESIGNATION_COLUMN_WIDTHS = {24f, 10f, 14f, 14f, 12f, 12f, 14f};
+    private static final float SUMMARY_TABLE_WIDTH_PERCENTAGE = 50f;
+
+    private RegisterPdfWriter() {
+    }
+
+    // The stream is left open for the caller to close
+    public static void write(PayrollRegister register, String companyName, OutputStream out) throws DocumentException {
+        Document document = new Document(PageSize.A4.rotate(), AppConstants.PAGE_MARGIN, AppConstants.PAGE_MARGIN,
+                AppConstants.PAGE_MARGIN, AppConstants.PAGE_MARGIN);
+        PdfWriter writer = PdfWriter.getInstance(document, out);
+        writer.setCloseStream(false);
+        document.open();
+
+        Paragraph title = new Paragraph(AppConstants.REGISTER_TITLE, PdfStylePalette.headerFont());
+        title.setAlignment(AppConstants.DEFAULT_CELL_ALIGN_CENTER);
+        document.add(title);
+        Paragraph company = new Paragraph(companyName, PdfStylePalette.headerFont());
+        company.setAlignment(AppConstants.DEFAULT_CELL_ALIGN_CENTER);
+        document.add(company);
+        Paragraph period = new Paragraph(AppConstants.REGISTER_PERIOD_LABEL + ": " + register.period(),
+                PdfStylePalette.boldFont());
+        period.setAlignment(AppConstants.DEFAULT_CELL_ALIGN_CENTER);
+        period.setSpacingAfter(AppConstants.SPACING_AFTER_HEADER);
+        document.add(period);
+
+        AmountFormatter amounts = new AmountFormatter();
+        document.add(getSummaryTable(register, amounts));
+        document.add(getDesignationTable(register, amounts));
+        document.close();
+    }
+
+    private static PdfPTable getSummaryTable(PayrollRegister register, AmountFormatter amounts)
+            throws DocumentException {
+        PdfPTable table = new PdfPTable(SUMMARY_COLUMN_WIDTHS.length);
+        table.setWidthPercentage(SUMMARY_TABLE_WIDTH_PERCENTAGE);
+        table.setWidths(SUMMARY_COLUMN_WIDTHS);
+        table.setSpacingAfter(AppConstants.SPACING_AFTER_HEADER);
+
+        table.addCell(PdfStylePalette.headerCell(AppConstants.REGISTER_COMPONENT_HEADER));
+        table.addCell(PdfStylePalette.headerCell(AppConstants.REGISTER_AMOUNT_HEADER));
+
+        table.addCell(PdfStylePalette.cell(AppConstants.REGISTER_HEADCOUNT_LABEL, AppConstants.DEFAULT_CELL_ALIGN_LEFT, false));
+        table.addCell(PdfStylePalette.cell(String.valueOf(register.headcount()), AppConstants.DEFAULT_CELL_ALIGN_RIGHT, false));
+        for (PayrollComponent component : PayrollComponent.values()) {
+            BigDecimal amount = register.components().get(component.name());
+            if (amount != null) {
+                addAmountRow(table, component.label(), amount, false, amounts);
+            }
+        }
+        addAmountRow(table, AppConstants.TOTAL_EARNING_LABEL, register.totalEarnings(), true, amounts);
+        addAmountRow(table, AppConstants.TOTAL_DEDUCTION_LABEL, register.totalDeductions(), true, amounts);
+        addAmountRow(table, AppConstants.REGISTER_NET_PAYOUT_LABEL, register.netPayout(), true, amounts);
+        return table;
+    }
+
+    private static PdfPTable getDesignationTable(PayrollRegister register, AmountFormatter amounts)
+            throws DocumentException {
+        PdfPTable table = new PdfPTable(DESIGNATION_COLUMN_WIDTHS.length);
+        table.setWidthPercentage(AppConstants.TABLE_WIDTH_PERCENTAGE);
+        table.setWidths(DESIGNATION_COLUMN_WIDTHS);
+        table.setHeaderRows(1);
+
+        for (String header : RegisterColumns.DESIGNATION_HEADERS) {
+            PdfPCell cell = PdfStylePalette.cell(header, AppConstants.DEFAULT_CELL_ALIGN_CENTER, true);
+            cell.setBackgroundColor(AppConstants.HEADER_CELL_BG_COLOR);
+            table.addCell(cell);
+        }
+        for (PayrollRegister.DesignationSubtotal subtotal : register.designations()) {
+            addDesignationRow(table, subtotal.designation(), subtotal.headcount(), subtotal.totalEarnings(),
+                    subtotal.totalDeductions(), subtotal.epf(), subtotal.tds(), subtotal.netPayout(), false, amounts);
+        }
+        addDesignationRow(table, RegisterColumns.TOTAL_ROW_LABEL, register.headcount(), register.totalEarnings(),
+                register.totalDeductions(), register.epf(), register.tds(), register.netPayout(), true, amounts);
+        return table;
+    }
+
+    private static void addDesignationRow(PdfPTable table, String designation, int headcount, BigDecimal earnings,
+                                          BigDecimal deductions, BigDecimal epf, BigDecimal tds, BigDecimal net,
+                                          boolean bold, AmountFormatter amounts) {
+        table.addCell(PdfStylePalette.cell(designation, AppConstants.DEFAULT_CELL_ALIGN_LEFT, bold));
+        table.addCell(PdfStylePalette.cell(String.valueOf(headcount), AppConstants.DEFAULT_CELL_ALIGN_RIGHT, bold));
+        for (BigDecimal amount : new BigDecimal[]{earnings, deductions, epf, tds, net}) {
+            table.addCell(PdfStylePalette.cell(amounts.format(RegisterColumns.paise(amount)),
+                    AppConstants.DEFAULT_CELL_ALIGN_RIGHT, bold));
+        }
+    }
+
+    private static void addAmountRow(PdfPTable table, String label, BigDecimal amount, boolean bold,
+                                     AmountFormatter amounts) {
+        table.addCell(PdfStylePalette.cell(label, AppConstants.DEFAULT_CELL_ALIGN_LEFT, bold));
+        table.addCell(PdfStylePalette.cell(amounts.format(RegisterColumns.paise(amount)),
+                AppConstants.DEFAULT_CELL_ALIGN_RIGHT, bold));
+    }
+}
@@ -0,0 +1,125 @@
+package com.cavin.salary_slip.service.register;
+
+import com.cavin.salary_slip.constants.AppConstants;
+import com.cavin.salary_slip.model.PayrollRegister;
+import com.cavin.salary_slip.service.payroll.PayrollComponent;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+
+/**
+ * Writes a {@link PayrollRegister} as a workbook with a summary sheet and a sheet of
+ * designation subtotals. Amounts are numeric cells, so finance can keep calculating
+ * with them.
+ */
+public final class RegisterXlsxWriter {
+
+    private static final String AMOUNT_FORMAT = "#,##0.00";
+
+    private RegisterXlsxWriter() {
+    }
+
+    // The stream is left open for the caller to close
+    public static void write(PayrollRegister register, OutputStream out) throws IOException {
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            Styles styles = new Styles(workbook);
+            writeSummary(workbook.createSheet(AppConstants.REGISTER_SUMMARY_SHEET), register, styles);
+            writeDesignations(workbook.createSheet(AppConstants.REGISTER_DESIGNATION_SHEET), register, styles);
+            workbook.write(out);
+        }
+    }
+
+    private static void writeSummary(Sheet sheet, PayrollRegister register, Styles styles) {
+        int rowIndex = 0;
+        Row period = sheet.createRow(rowIndex++);
+        period.createCell(0).setCellValue(AppConstants.REGISTER_PERIOD_LABEL);
+        period.createCell(1).setCellValue(register.period());
+
+        Row header = sheet.createRow(rowIndex++);
+        header.createCell(0).setCellValue(AppConstants.REGISTER_COMPONENT_HEADER);
+        header.createCell(1).setCellValue(AppConstants.REGISTER_AMOUNT_HEADER);
+        header.forEach(cell -> cell.setCellStyle(styles.header));
+
+        Row headcount = sheet.createRow(rowIndex++);
+        headcount.createCell(0).setCellValue(AppConstants.REGISTER_HEADCOUNT_LABEL);
+        headcount.createCell(1).setCellValue(register.headcount());
+        for (PayrollComponent component : PayrollComponent.values()) {
+            BigDecimal amount = register.components().get(component.name());
+            if (amount != null) {
+                addAmountRow(sheet, rowIndex++, component.label(), amount, styles.amount);
+            }
+        }
+        addAmountRow(sheet, rowIndex++, AppConstants.TOTAL_EARNING_LABEL, register.totalEarnings(), styles.totalAmount);
+        addAmountRow(sheet, rowIndex++, AppConstants.TOTAL_DEDUCTION_LABEL, register.totalDeductions(), styles.totalAmount);
+        addAmountRow(sheet, rowIndex, AppConstants.REGISTER_NET_PAYOUT_LABEL, register.netPayout(), styles.totalAmount);
+
+        sheet.autoSizeColumn(0);
+        sheet.autoSizeColumn(1);
+    }
+
+    private static void writeDesignations(Sheet sheet, PayrollRegister register, Styles styles) {
+        Row header = sheet.createRow(0);
+        for (int column = 0; column < RegisterColumns.DESIGNATION_HEADERS.size(); column++) {
+            header.createCell(column).setCellValue(RegisterColumns.DESIGNATION_HEADERS.get(column));
+        }
+        header.forEach(cell -> cell.setCellStyle(styles.header));
+
+        int rowIndex = 1;
+        for (PayrollRegister.DesignationSubtotal subtotal : register.designations()) {
+            addDesignationRow(sheet.createRow(rowIndex++), subtotal.designation(), subtotal.headcount(),
+                    styles.amount, subtotal.totalEarnings(), subtotal.totalDeductions(), subtotal.epf(),
+                    subtotal.tds(), subtotal.netPayout());
+        }
+        addDesignationRow(sheet.createRow(rowIndex), RegisterColumns.TOTAL_ROW_LABEL, register.headcount(),
+                styles.totalAmount, register.totalEarnings(), register.totalDeductions(), register.epf(),
+                register.tds(), register.netPayout());
+
+        for (int column = 0; column < RegisterColumns.DESIGNATION_HEADERS.size(); column++) {
+            sheet.autoSizeColumn(column);
+        }
+    }
+
+    private static void addDesignationRow(Row row, String designation, int headcount, CellStyle style,
+                                          BigDecimal... amounts) {
+        row.createCell(0).setCellValue(designation);
+        row.createCell(1).setCellValue(headcount);
+        for (int i = 0; i < amounts.length; i++) {
+            row.createCell(i + 2).setCellValue(amounts[i].doubleValue());
+            row.getCell(i + 2).setCellStyle(style);
+        }
+    }
+
+    private static void addAmountRow(Sheet sheet, int rowIndex, String label, BigDecimal amount, CellStyle style) {
+        Row row = sheet.createRow(rowIndex);
+        row.createCell(0).setCellValue(label);
+        row.createCell(1).setCellValue(amount.doubleValue());
+        row.getCell(1).setCellStyle(style);
+    }
+
+    // Cell styles are workbook-wide, so they are created once per workbook rather than per cell
+    private static final class Styles {
+        final CellStyle header;
+        final CellStyle amount;
+        final CellStyle totalAmount;
+
+        Styles(XSSFWorkbook workbook) {
+            Font bold = workbook.createFont();
+            bold.setBold(true);
+            short amountFormat = workbook.createDataFormat().getFormat(AMOUNT_FORMAT);
+
+            header = workbook.createCellStyle();
+            header.setFont(bold);
+            amount = workbook.createCellStyle();
+            amount.setDataFormat(amountFormat);
+            totalAmount = workbook.createCellStyle();
+            totalAmount.setDataFormat(amountFormat);
+            totalAmount.setFont(bold);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.cavin.salary_slip.service.sink;
+
+import com.cavin.salary_slip.model.Employee;
+import com.cavin.salary_slip.service.pdf.SlipBuffer;
+import com.itextpdf.text.Document;
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.pdf.PdfReader;
+import com.itextpdf.text.pdf.PdfSmartCopy;
+import com.itextpdf.text.pdf.PdfWriter;
+import org.springframework.util.StringUtils;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Appends every slip as a page of one PDF. Pages are merged with {@link PdfSmartCopy},
+ * which writes identical objects (fonts, the logo, the slip template) only once, so
+ * the combined file is much smaller than the separate slips. Closing the sink
+ * closes the file. A PDF needs at least one page, so a batch without a single
+ * slip deletes the file instead of leaving an empty one behind.
+ */
+public class CombinedPdfSlipSink implements SlipSink {
+
+    private static final int FILE_BUFFER_SIZE = 256 * 1024;
+
+    private final Path target;
+    private final OutputStream out;
+    private final boolean bookmarks;
+    private final List<HashMap<String, Object>> outlines = new ArrayList<>();
+    private Document document;
+    private PdfSmartCopy copy;
+
+    public CombinedPdfSlipSink(Path target, boolean bookmarks) throws IOException {
+        this.target = target;
+        this.out = new BufferedOutputStream(Files.newOutputStream(target), FILE_BUFFER_SIZE);
+        this.bookmarks = bookmarks;
+    }
+
+    @Override
+    public void write(Employee employee, SlipBuffer pdf) throws IOException {
+        try {
+            if (document == null) {
+                document = new Document();
+                copy = new PdfSmartCopy(document, out);
+                document.open();
+            }
+            PdfReader reader = new PdfReader(pdf.toByteArray());
+            for (int page = 1; page <= reader.getNumberOfPages(); page++) {
+                copy.addPage(copy.getImportedPage(reader, page));
+            }
+            copy.freeReader(reader);
+            reader.close();
+        } catch (DocumentException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+
+        if (bookmarks) {
+            HashMap<String, Object> outline = new HashMap<>();
+            outline.put("Title", StringUtils.hasText(employee.getEmpId())
+                    ? employee.getEmpId() + " - " + employee.getEmployeeName() : employee.getEmployeeName());
+            outline.put("Action", "GoTo");
+            outline.put("Page", copy.getPageNumber() - 1 + " Fit");
+            outlines.add(outline);
+        }
+    }
+
+    @Override
+    public String describe() {
+        return target.toString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (document != null) {
+                if (bookmarks) {
+                    copy.setOutlines(outlines);
+                    copy.setViewerPreferences(PdfWriter.PageModeUseOutlines);
+                }
+                document.close();
+            }
+        } finally {
+            out.close();
+            if (document == null) {
+                Files.deleteIfExists(target);
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.cavin.salary_slip.service.sink;
+
+import com.cavin.salary_slip.model.Employee;
+import com.cavin.salary_slip.service.pdf.SlipBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes every slip to its own file in a directory. Each slip is written to a
+ * temporary file that is then moved over the target, so a file that already exists,
+ * such as a slip hard-linked from an earlier batch, is replaced rather than written
+ * through, and a failed write never leaves a truncated slip.
+ */
+public class DirectorySlipSink implements SlipSink {
+
+    private static final Logger logger = LoggerFactory.getLogger(DirectorySlipSink.class);
+
+    private static final String PART_SUFFIX = ".part";
+
+    private final Path directory;
+
+    public DirectorySlipSink(Path directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public void write(Employee employee, SlipBuffer pdf) throws IOException {
+        Path target = directory.resolve(SlipSink.fileName(employee));
+        Path part = target.resolveSibling(target.getFileName() + PART_SUFFIX);
+        try {
+            try (FileChannel channel = FileChannel.open(part, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                pdf.writeTo(channel);
+            }
+            Files.move(part, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(part);
+            throw e;
+        }
+        logger.info("Generated slip for: {} in directory: {}", employee.getEmployeeName(), directory);
+    }
+
+    @Override
+    public String describe() {
+        return directory.toString();
+    }
+
+    @Override
+    public void close() {
+        // every file is closed as soon as it is written
+    }
+}
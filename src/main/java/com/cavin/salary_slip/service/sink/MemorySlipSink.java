@@ -0,0 +1,38 @@
+package com.cavin.salary_slip.service.sink;
+
+import com.cavin.salary_slip.model.Employee;
+import com.cavin.salary_slip.service.pdf.SlipBuffer;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the slips of a batch in memory, keyed by file name in batch order.
+ * Meant for small batches that are served directly, and for measuring
+ * rendering without any storage cost. It cannot be configured as the batch
+ * output sink; pass it to {@code SlipPipelineService.run(source, sink)}.
+ */
+public class MemorySlipSink implements SlipSink {
+
+    private final Map<String, byte[]> slips = new LinkedHashMap<>();
+
+    @Override
+    public void write(Employee employee, SlipBuffer pdf) {
+        slips.put(SlipSink.fileName(employee), pdf.toByteArray());
+    }
+
+    public Map<String, byte[]> getSlips() {
+        return Collections.unmodifiableMap(slips);
+    }
+
+    @Override
+    public String describe() {
+        return "memory";
+    }
+
+    @Override
+    public void close() {
+        // nothing to release
+    }
+}
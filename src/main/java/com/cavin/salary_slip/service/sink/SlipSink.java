@@ -0,0 +1,30 @@
+package com.cavin.salary_slip.service.sink;
+
+import com.cavin.salary_slip.constants.AppConstants;
+import com.cavin.salary_slip.model.BatchSummary;
+import com.cavin.salary_slip.model.Employee;
+import com.cavin.salary_slip.service.pdf.SlipBuffer;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Destination of the slips of one batch. Slips are handed over one at a time, in
+ * batch order, from a single writer thread, so implementations need no locking.
+ * The buffer belongs to the caller and is only valid for the duration of the call.
+ */
+public interface SlipSink extends Closeable {
+
+    void write(Employee employee, SlipBuffer pdf) throws IOException;
+
+    // Called once after the last slip, before the sink is closed
+    default void finish(BatchSummary summary) throws IOException {
+    }
+
+    // Human readable location used in log and response messages
+    String describe();
+
+    static String fileName(Employee employee) {
+        return employee.getEmployeeName() + AppConstants.PDF_FILE_SUFFIX;
+    }
+}
@@ -0,0 +1,17 @@
+package com.cavin.salary_slip.service.sink;
+
+import java.io.IOException;
+
+/**
+ * Thrown by a sink whose destination can no longer accept slips (for example a
+ * download whose client disconnected). The batch is stopped instead of rendering
+ * slips nobody will receive.
+ */
+public class SlipSinkClosedException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    public SlipSinkClosedException(IOException cause) {
+        super(cause.getMessage(), cause);
+    }
+}
@@ -0,0 +1,76 @@
+package com.cavin.salary_slip.service.sink;
+
+import com.cavin.salary_slip.config.SlipEncryptionProperties;
+import com.cavin.salary_slip.config.SlipSigningProperties;
+import com.cavin.salary_slip.constants.AppConstants;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Opens the sink configured for batch runs ({@code salary.slip.output.sink}).
+ * Only sinks that leave the slips in the output directory can be configured;
+ * a {@link MemorySlipSink} is handed to the pipeline directly by code that reads
+ * the slips back itself.
+ */
+@Component
+public class SlipSinkFactory {
+
+    private static final int FILE_BUFFER_SIZE = 256 * 1024;
+
+    // "directory", "zip" or "combined"
+    @Value("${salary.slip.output.sink:directory}")
+    private String sinkType;
+
+    @Value("${salary.slip.output.bookmarks:true}")
+    private boolean bookmarks;
+
+    private final SlipEncryptionProperties encryptionProperties;
+    private final SlipSigningProperties signingProperties;
+
+    public SlipSinkFactory(SlipEncryptionProperties encryptionProperties, SlipSigningProperties signingProperties) {
+        this.encryptionProperties = encryptionProperties;
+        this.signingProperties = signingProperties;
+    }
+
+    // A batch run into the memory sink would report success and keep nothing
+    @PostConstruct
+    void validate() {
+        if (AppConstants.SINK_MEMORY.equalsIgnoreCase(sinkType)) {
+            throw new IllegalStateException("salary.slip.output.sink=memory keeps no output, "
+                    + "use the directory, zip or combined output sink");
+        }
+    }
+
+    // Whether every slip ends up as its own file in the output directory
+    public boolean isDirectory() {
+        return AppConstants.SINK_DIRECTORY.equalsIgnoreCase(sinkType);
+    }
+
+    public SlipSink open(String outputDir) throws IOException {
+        if (AppConstants.SINK_ZIP.equalsIgnoreCase(sinkType)) {
+            Path target = Path.of(outputDir, AppConstants.ZIP_FILE_NAME);
+            return new ZipSlipSink(new BufferedOutputStream(Files.newOutputStream(target), FILE_BUFFER_SIZE),
+                    false, target.toString());
+        }
+        if (AppConstants.SINK_COMBINED.equalsIgnoreCase(sinkType)) {
+            // One document cannot carry a different password per page
+            if (encryptionProperties.isEnabled()) {
+                throw new IllegalStateException("Password protected slips cannot be combined into one PDF, "
+                        + "use the directory or zip output sink");
+            }
+            // Merging copies the page content only, which would drop each slip's signature
+            if (signingProperties.isEnabled()) {
+                throw new IllegalStateException("Signed slips cannot be combined into one PDF, "
+                        + "use the directory or zip output sink");
+            }
+            return new CombinedPdfSlipSink(Path.of(outputDir, AppConstants.COMBINED_PDF_FILE_NAME), bookmarks);
+        }
+        return new DirectorySlipSink(Path.of(outputDir));
+    }
+}
@@ -0,0 +1,79 @@
+package com.cavin.salary_slip.service.sink;
+
+import com.cavin.salary_slip.constants.AppConstants;
+import com.cavin.salary_slip.model.BatchSummary;
+import com.cavin.salary_slip.model.Employee;
+import com.cavin.salary_slip.service.pdf.SlipBuffer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes the slips as entries of a ZIP archive. Slips that failed are listed in a
+ * trailing text entry. Closing the sink closes the underlying stream.
+ */
+public class ZipSlipSink implements SlipSink {
+
+    private final ZipOutputStream zip;
+    private final boolean flushEachSlip;
+    private final String description;
+
+    /**
+     * @param flushEachSlip push every finished entry to {@code out}, e.g. so a download
+     *                      receives slips while the batch is still running
+     */
+    public ZipSlipSink(OutputStream out, boolean flushEachSlip, String description) {
+        this.zip = new ZipOutputStream(out);
+        // PDF content streams are already compressed, so favour speed
+        this.zip.setLevel(Deflater.BEST_SPEED);
+        this.flushEachSlip = flushEachSlip;
+        this.description = description;
+    }
+
+    @Override
+    public void write(Employee employee, SlipBuffer pdf) throws IOException {
+        try {
+            zip.putNextEntry(new ZipEntry(SlipSink.fileName(employee)));
+            pdf.writeTo(zip);
+            zip.closeEntry();
+            if (flushEachSlip) {
+                zip.flush();
+            }
+        } catch (ZipException e) {
+            // e.g. a duplicate employee name; the archive itself is still usable
+            throw e;
+        } catch (IOException e) {
+            throw new SlipSinkClosedException(e);
+        }
+    }
+
+    @Override
+    public void finish(BatchSummary summary) throws IOException {
+        if (summary.failures().isEmpty()) {
+            return;
+        }
+        StringBuilder report = new StringBuilder();
+        for (BatchSummary.SlipFailure failure : summary.failures()) {
+            report.append(failure.index()).append('\t').append(failure.employeeName())
+                    .append('\t').append(failure.message()).append('\n');
+        }
+        zip.putNextEntry(new ZipEntry(AppConstants.ZIP_FAILURES_ENTRY));
+        zip.write(report.toString().getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+
+    @Override
+    public String describe() {
+        return description;
+    }
+
+    @Override
+    public void close() throws IOException {
+        zip.close();
+    }
+}
@@ -0,0 +1,58 @@
+package com.cavin.salary_slip.service.upload;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * An uploaded workbook or CSV file held in a single temporary file, which the
+ * readers open in place. Closing the upload deletes the file; closing it again
+ * does nothing, so it can be closed both by a {@code finally} block and by
+ * whoever it was handed to.
+ */
+public final class SpooledUpload implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(SpooledUpload.class);
+
+    private final Path path;
+    private final String fileName;
+    private final boolean csv;
+    private final long size;
+
+    SpooledUpload(Path path, String fileName, boolean csv, long size) {
+        this.path = path;
+        this.fileName = fileName;
+        this.csv = csv;
+        this.size = size;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    // Name the client gave the file, for log messages
+    public String getFileName() {
+        return fileName;
+    }
+
+    public boolean isCsv() {
+        return csv;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    @Override
+    public void close() {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Could not delete temporary file {}", path, e);
+        }
+    }
+}
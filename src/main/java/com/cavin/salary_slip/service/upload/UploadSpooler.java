@@ -0,0 +1,89 @@
+package com.cavin.salary_slip.service.upload;
+
+import com.cavin.salary_slip.constants.AppConstants;
+import com.cavin.salary_slip.service.CsvReaderService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Puts uploads into the single temporary file the readers work on.
+ * <p>
+ * A multipart file has already been staged on disk by the container, which renames
+ * it into place when both files are on the same file system and copies it otherwise.
+ * A raw request body is read from the request stream into the file channel in steps
+ * of up to {@value #TRANSFER_CHUNK} bytes, through the small buffer the JDK copies
+ * with, so memory use does not grow with the upload and no multipart staging copy is
+ * made. Either way the file is deleted again if spooling fails.
+ */
+@Component
+public class UploadSpooler {
+
+    private static final Logger logger = LoggerFactory.getLogger(UploadSpooler.class);
+
+    // Bytes requested per transferFrom call; the JDK copies them through a small direct buffer
+    private static final long TRANSFER_CHUNK = 1L << 20;
+
+    private final long maxBytes;
+
+    public UploadSpooler(@Value("${salary.slip.upload.max-size:1GB}") DataSize maxSize) {
+        this.maxBytes = maxSize.toBytes();
+    }
+
+    public SpooledUpload spool(MultipartFile file) throws IOException {
+        String fileName = file.getOriginalFilename();
+        boolean csv = CsvReaderService.isCsvFile(fileName);
+        Path path = createTempFile(csv);
+        try {
+            // The File overload lets the container move its staged file; the Path overload always copies it
+            file.transferTo(path.toFile());
+            return new SpooledUpload(path, fileName, csv, Files.size(path));
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(path);
+            throw e;
+        }
+    }
+
+    /**
+     * Writes a raw request body to a temporary file, failing with
+     * {@link UploadTooLargeException} once it exceeds {@code salary.slip.upload.max-size}.
+     * The stream is read to the end but left open for the caller to close.
+     */
+    public SpooledUpload spool(InputStream body, String fileName, boolean csv) throws IOException {
+        Path path = createTempFile(csv);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            ReadableByteChannel source = Channels.newChannel(body);
+            long size = 0;
+            long transferred;
+            // A blocking source only transfers nothing at the end of the stream
+            while ((transferred = channel.transferFrom(source, size, TRANSFER_CHUNK)) > 0) {
+                size += transferred;
+                if (size > maxBytes) {
+                    throw new UploadTooLargeException(maxBytes);
+                }
+            }
+            logger.info("Spooled {} byte upload {} to {}", size, fileName, path);
+            return new SpooledUpload(path, fileName, csv, size);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(path);
+            throw e;
+        }
+    }
+
+    private static Path createTempFile(boolean csv) throws IOException {
+        return Files.createTempFile(AppConstants.TEMP_FILE_PREFIX,
+                csv ? AppConstants.CSV_TEMP_FILE_SUFFIX : AppConstants.TEMP_FILE_SUFFIX);
+    }
+}
@@ -0,0 +1,16 @@
+package com.cavin.salary_slip.service.upload;
+
+import java.io.IOException;
+
+/**
+ * Thrown when a streamed upload exceeds {@code salary.slip.upload.max-size}. The
+ * partly written spill file has already been deleted.
+ */
+public class UploadTooLargeException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    public UploadTooLargeException(long maxBytes) {
+        super("Upload exceeds the maximum size of " + maxBytes + " bytes");
+    }
+}
@@ -0,0 +1,54 @@
+package com.cavin.salary_slip.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SalaryDetailsTest {
+
+    @Test
+    void settersRoundToTheNearestPaisa() {
+        SalaryDetails details = new SalaryDetails();
+        details.setBasic(1234.564);
+        details.setHra(1234.565);
+        details.setDa(0.005);
+        details.setEpf(1800);
+        details.setIncomeTax(-0.004);
+
+        assertEquals(123_456, details.getBasicPaise());
+        assertEquals(123_457, details.getHraPaise());
+        assertEquals(1, details.getDaPaise());
+        assertEquals(180_000, details.getEpfPaise());
+        assertEquals(0, details.getIncomeTaxPaise());
+        assertEquals(1234.56, details.getBasic());
+    }
+
+    @Test
+    void decimalFractionsSumExactly() {
+        SalaryDetails details = new SalaryDetails();
+        // 0.1 + 0.2 is not 0.3 in double arithmetic
+        details.setBasic(0.1);
+        details.setHra(0.2);
+
+        assertEquals(30, details.getTotalEarningsPaise());
+        assertEquals(0.3, details.getTotalEarnings());
+    }
+
+    @Test
+    void totalsAreExactPaiseSums() {
+        SalaryDetails details = new SalaryDetails();
+        details.setBasic(25000.10);
+        details.setHra(10000.20);
+        details.setDa(2500.30);
+        details.setSpecialAllowance(1500.40);
+        details.setTravellingAllowance(800.50);
+        details.setIncomeTax(2000.60);
+        details.setEpf(1800.70);
+        details.setLeaveDeduction(300.80);
+
+        assertEquals(3_980_150, details.getTotalEarningsPaise());
+        assertEquals(410_210, details.getTotalDeductionsPaise());
+        assertEquals(3_569_940, details.getNetSalaryPaise());
+        assertEquals(35699.40, details.getNetSalary());
+    }
+}
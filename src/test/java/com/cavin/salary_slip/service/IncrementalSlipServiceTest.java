@@ -0,0 +1,173 @@
+package com.cavin.salary_slip.service;
+
+import com.cavin.salary_slip.model.CompanyDetails;
+import com.cavin.salary_slip.model.Employee;
+import com.cavin.salary_slip.model.SalaryDetails;
+import com.cavin.salary_slip.service.pdf.SlipBuffer;
+import com.cavin.salary_slip.service.pdf.SlipBufferPool;
+import com.cavin.salary_slip.service.sink.SlipSinkFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class IncrementalSlipServiceTest {
+
+    private static final LocalDate JUNE = LocalDate.of(2025, 6, 30);
+
+    private final SlipBufferPool bufferPool = new SlipBufferPool(4);
+    private ExecutorService slipExecutor;
+    private IncrementalSlipService service;
+    // Month printed on slips of rows without a salary date
+    private String currentMonth = "2025-07";
+
+    @TempDir
+    Path baseDir;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        slipExecutor = Executors.newFixedThreadPool(2);
+        PdfService pdfService = mock(PdfService.class);
+        // The "PDF" is the employee's id and basic pay, so a changed row renders different bytes
+        when(pdfService.render(any())).thenAnswer(invocation -> {
+            Employee emp = invocation.getArgument(0);
+            if (emp.getEmployeeName().startsWith("bad")) {
+                throw new IllegalArgumentException("cannot render " + emp.getEmployeeName());
+            }
+            SlipBuffer pdf = bufferPool.acquire();
+            pdf.write(content(emp).getBytes(StandardCharsets.UTF_8));
+            return pdf;
+        });
+        when(pdfService.outputFingerprint()).thenReturn("");
+        when(pdfService.salaryMonth(any())).thenAnswer(invocation -> {
+            Employee emp = invocation.getArgument(0);
+            return emp.getSalaryDate() != null ? emp.getSalaryDate().toString().substring(0, 7) : currentMonth;
+        });
+
+        SlipPipelineService pipeline = new SlipPipelineService(pdfService, slipExecutor, mock(SlipSinkFactory.class));
+        ReflectionTestUtils.setField(pipeline, "queueCapacity", 4);
+        service = new IncrementalSlipService(pipeline, pdfService, new CompanyDetails(), new ObjectMapper());
+        ReflectionTestUtils.setField(service, "baseOutputDir", baseDir.toString());
+    }
+
+    @AfterEach
+    void tearDown() {
+        slipExecutor.shutdownNow();
+    }
+
+    @Test
+    void reusesUnchangedRowsAndRendersChangedRows() throws Exception {
+        Path june = batch("june");
+        service.generate(List.of(employee("E1", "Asha", 1000, JUNE), employee("E2", "Ravi", 2000, JUNE)),
+                dir(june));
+
+        Path rerun = batch("rerun");
+        IncrementalSlipService.Result result = service.generate(
+                List.of(employee("E1", "Asha", 1000, JUNE), employee("E2", "Ravi", 2500, JUNE)), dir(rerun));
+
+        assertEquals(1, result.reused());
+        assertEquals(1, result.rendered());
+        assertEquals("E1:100000", slip(rerun, "Asha"));
+        assertEquals("E2:250000", slip(rerun, "Ravi"));
+        // The earlier batch keeps the slip it was written with
+        assertEquals("E2:200000", slip(june, "Ravi"));
+    }
+
+    @Test
+    void failedRowsAreReportedByBatchPositionAndRenderedAgain() throws Exception {
+        IncrementalSlipService.Result first = service.generate(
+                List.of(employee("E1", "Asha", 1000, JUNE), employee("E9", "bad-row", 900, JUNE)), dir(batch("june")));
+        assertEquals(1, first.failures().size());
+        assertEquals(2, first.failures().get(0).index());
+
+        IncrementalSlipService.Result second = service.generate(
+                List.of(employee("E1", "Asha", 1000, JUNE), employee("E9", "bad-row", 900, JUNE)), dir(batch("rerun")));
+
+        assertEquals(1, second.reused());
+        assertEquals(0, second.rendered());
+        assertEquals(1, second.failures().size());
+        assertEquals(2, second.failures().get(0).index());
+        assertEquals("bad-row", second.failures().get(0).employeeName());
+    }
+
+    @Test
+    void duplicateFileNamesAreNeverLinked() throws Exception {
+        Path june = batch("june");
+        service.generate(List.of(employee("E1", "Asha", 1000, JUNE)), dir(june));
+
+        // E1 is unchanged, but E2 writes the same file name later in the batch
+        Path rerun = batch("rerun");
+        IncrementalSlipService.Result result = service.generate(
+                List.of(employee("E1", "Asha", 1000, JUNE), employee("E2", "Asha", 3000, JUNE)), dir(rerun));
+
+        assertEquals(0, result.reused());
+        assertEquals(2, result.rendered());
+        assertEquals("E2:300000", slip(rerun, "Asha"));
+        assertEquals("E1:100000", slip(june, "Asha"));
+
+        // The shared file holds E2's slip, so E1 must not be linked from it
+        Path next = batch("next");
+        result = service.generate(List.of(employee("E1", "Asha", 1000, JUNE)), dir(next));
+
+        assertEquals(0, result.reused());
+        assertEquals("E1:100000", slip(next, "Asha"));
+    }
+
+    @Test
+    void rowsWithoutDateAreRenderedAgainInANewMonth() throws Exception {
+        service.generate(List.of(employee("E1", "Asha", 1000, null)), dir(batch("july")));
+
+        IncrementalSlipService.Result sameMonth =
+                service.generate(List.of(employee("E1", "Asha", 1000, null)), dir(batch("july-rerun")));
+        assertEquals(1, sameMonth.reused());
+
+        currentMonth = "2025-08";
+        IncrementalSlipService.Result nextMonth =
+                service.generate(List.of(employee("E1", "Asha", 1000, null)), dir(batch("august")));
+        assertEquals(0, nextMonth.reused());
+        assertEquals(1, nextMonth.rendered());
+    }
+
+    private Path batch(String name) throws Exception {
+        return Files.createDirectories(baseDir.resolve(name));
+    }
+
+    // Output directories are passed with a trailing separator, as the scheduler does
+    private static String dir(Path batch) {
+        return batch.toString() + "/";
+    }
+
+    private static String slip(Path batch, String name) throws Exception {
+        return Files.readString(batch.resolve(name + "_SalarySlip.pdf"));
+    }
+
+    private static String content(Employee emp) {
+        return emp.getEmpId() + ":" + emp.getSalaryDetails().getBasicPaise();
+    }
+
+    private static Employee employee(String empId, String name, double basic, LocalDate salaryDate) {
+        SalaryDetails salary = new SalaryDetails();
+        salary.setBasic(basic);
+        Employee emp = new Employee();
+        emp.setEmpId(empId);
+        emp.setEmployeeName(name);
+        emp.setSalaryDate(salaryDate);
+        emp.setSalaryDetails(salary);
+        return emp;
+    }
+}
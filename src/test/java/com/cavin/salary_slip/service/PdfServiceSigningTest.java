@@ -0,0 +1,135 @@
+package com.cavin.salary_slip.service;
+
+import com.cavin.salary_slip.config.SlipEncryptionProperties;
+import com.cavin.salary_slip.config.SlipSigningProperties;
+import com.cavin.salary_slip.constants.AppConstants;
+import com.cavin.salary_slip.model.CompanyDetails;
+import com.cavin.salary_slip.model.Employee;
+import com.cavin.salary_slip.model.SalaryDetails;
+import com.cavin.salary_slip.service.pdf.SlipBuffer;
+import com.itextpdf.text.pdf.AcroFields;
+import com.itextpdf.text.pdf.PdfDictionary;
+import com.itextpdf.text.pdf.PdfName;
+import com.itextpdf.text.pdf.PdfReader;
+import com.itextpdf.text.pdf.security.PdfPKCS7;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Security;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PdfServiceSigningTest {
+
+    private static final String PAN = "ABCDE1234F";
+
+    // iText reads the certificates of a signature through BouncyCastle, which needs its provider installed
+    @BeforeAll
+    static void installBouncyCastle() {
+        if (Security.getProvider(BouncyCastleProvider.PROVIDER_NAME) == null) {
+            Security.addProvider(new BouncyCastleProvider());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {PdfService.RENDER_MODE_FLOW, PdfService.RENDER_MODE_TEMPLATE})
+    void signedSlipVerifies(String renderMode) throws Exception {
+        PdfService pdfService = pdfService(renderMode, 0);
+
+        try (SlipBuffer pdf = pdfService.render(employee())) {
+            PdfReader reader = new PdfReader(pdf.toByteArray());
+            try {
+                AcroFields fields = reader.getAcroFields();
+                assertEquals(List.of(AppConstants.SIGNATURE_FIELD_NAME), fields.getSignatureNames());
+                assertTrue(fields.signatureCoversWholeDocument(AppConstants.SIGNATURE_FIELD_NAME));
+                assertTrue(fields.verifySignature(AppConstants.SIGNATURE_FIELD_NAME).verify());
+            } finally {
+                reader.close();
+            }
+        }
+    }
+
+    /*
+     * The /Contents of a signature is never encrypted (ISO 32000-2, 7.6.2), which is how
+     * the slip is written and how PDF viewers read it. iText 5 instead decrypts it when
+     * verifying an encrypted document ("not a valid PKCS#7 object") and checks coverage
+     * by reopening the file without a password, so both are checked from the raw bytes.
+     */
+    @ParameterizedTest
+    @CsvSource({"flow, 128", "template, 128", "flow, 256"})
+    void encryptedAndSignedSlipVerifies(String renderMode, int keyLength) throws Exception {
+        PdfService pdfService = pdfService(renderMode, keyLength);
+
+        try (SlipBuffer pdf = pdfService.render(employee())) {
+            byte[] bytes = pdf.toByteArray();
+            PdfReader reader = new PdfReader(bytes, PAN.getBytes(StandardCharsets.UTF_8));
+            try {
+                assertTrue(reader.isEncrypted());
+                AcroFields fields = reader.getAcroFields();
+                assertEquals(List.of(AppConstants.SIGNATURE_FIELD_NAME), fields.getSignatureNames());
+                PdfDictionary signature = fields.getSignatureDictionary(AppConstants.SIGNATURE_FIELD_NAME);
+                long[] range = signature.getAsArray(PdfName.BYTERANGE).asLongArray();
+
+                // The signed ranges run from the start to the end of the file, skipping only the signature
+                assertEquals(0, range[0]);
+                assertEquals(bytes.length, range[2] + range[3]);
+                assertEquals('<', bytes[(int) range[1]]);
+                assertEquals('>', bytes[(int) range[2] - 1]);
+
+                PdfPKCS7 pkcs7 = new PdfPKCS7(signature.getAsString(PdfName.CONTENTS).getOriginalBytes(),
+                        signature.getAsName(PdfName.SUBFILTER), null);
+                pkcs7.update(bytes, (int) range[0], (int) range[1]);
+                pkcs7.update(bytes, (int) range[2], (int) range[3]);
+                assertTrue(pkcs7.verify());
+            } finally {
+                reader.close();
+            }
+        }
+    }
+
+    // A key length of 0 leaves the slips unencrypted
+    private static PdfService pdfService(String renderMode, int keyLength) {
+        SlipEncryptionProperties encryption = new SlipEncryptionProperties();
+        encryption.setEnabled(keyLength > 0);
+        encryption.setOwnerPassword("owner-secret");
+        encryption.setUserPassword(SlipEncryptionProperties.PASSWORD_PAN);
+        encryption.setKeyLength(keyLength);
+
+        SlipSigningProperties signing = new SlipSigningProperties();
+        signing.setEnabled(true);
+        signing.setKeystore("classpath:signing/test-slip-signer.p12");
+        signing.setKeystorePassword("changeit");
+
+        CompanyDetails company = new CompanyDetails();
+        company.setName("Test Company");
+        PdfService pdfService = new PdfService(company, encryption, signing, 2);
+        ReflectionTestUtils.setField(pdfService, "logoPath", "static/img.png");
+        ReflectionTestUtils.setField(pdfService, "renderMode", renderMode);
+        ReflectionTestUtils.setField(pdfService, "profile", PdfService.PROFILE_DEFAULT);
+        return pdfService;
+    }
+
+    private static Employee employee() {
+        SalaryDetails salary = new SalaryDetails();
+        salary.setBasic(25000);
+        salary.setHra(10000);
+        salary.setEpf(1800);
+        Employee emp = new Employee();
+        emp.setEmpId("E001");
+        emp.setEmployeeName("Asha Rao");
+        emp.setDesignation("Engineer");
+        emp.setPanNo(PAN);
+        emp.setPayableDays(30);
+        emp.setSalaryDate(LocalDate.of(2025, 6, 30));
+        emp.setSalaryDetails(salary);
+        return emp;
+    }
+}
@@ -0,0 +1,180 @@
+package com.cavin.salary_slip.service;
+
+import com.cavin.salary_slip.model.BatchSummary;
+import com.cavin.salary_slip.model.Employee;
+import com.cavin.salary_slip.service.pdf.SlipBuffer;
+import com.cavin.salary_slip.service.pdf.SlipBufferPool;
+import com.cavin.salary_slip.service.sink.MemorySlipSink;
+import com.cavin.salary_slip.service.sink.SlipSink;
+import com.cavin.salary_slip.service.sink.SlipSinkFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SlipPipelineServiceTest {
+
+    private static final int QUEUE_CAPACITY = 4;
+
+    private final SlipBufferPool bufferPool = new SlipBufferPool(QUEUE_CAPACITY);
+    private ExecutorService slipExecutor;
+    private PdfService pdfService;
+    private SlipPipelineService pipeline;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        slipExecutor = Executors.newFixedThreadPool(4);
+        pdfService = mock(PdfService.class);
+        // Renders finish in random order, the "PDF" is the employee's name
+        when(pdfService.render(any())).thenAnswer(invocation -> {
+            Employee emp = invocation.getArgument(0);
+            Thread.sleep(ThreadLocalRandom.current().nextInt(5));
+            if (emp.getEmployeeName().startsWith("bad")) {
+                throw new IllegalArgumentException("cannot render " + emp.getEmployeeName());
+            }
+            SlipBuffer pdf = bufferPool.acquire();
+            pdf.write(emp.getEmployeeName().getBytes(StandardCharsets.UTF_8));
+            return pdf;
+        });
+        pipeline = new SlipPipelineService(pdfService, slipExecutor, mock(SlipSinkFactory.class));
+        ReflectionTestUtils.setField(pipeline, "queueCapacity", QUEUE_CAPACITY);
+    }
+
+    @AfterEach
+    void tearDown() {
+        slipExecutor.shutdownNow();
+    }
+
+    @Test
+    void writesSlipsInBatchOrder() throws Exception {
+        List<Employee> employees = employees("emp", 200);
+        MemorySlipSink sink = new MemorySlipSink();
+
+        BatchSummary summary = pipeline.run(employees, sink);
+
+        assertEquals(200, summary.succeeded());
+        assertEquals(0, summary.failed());
+        List<String> expected = employees.stream().map(SlipSink::fileName).toList();
+        assertEquals(expected, new ArrayList<>(sink.getSlips().keySet()));
+        assertArrayEquals("emp-0".getBytes(StandardCharsets.UTF_8), sink.getSlips().get(expected.get(0)));
+    }
+
+    @Test
+    void recordsRenderFailuresAndKeepsGoing() throws Exception {
+        List<Employee> employees = new ArrayList<>(employees("emp", 10));
+        employees.set(2, employee("bad-2"));
+        employees.set(7, employee("bad-7"));
+        MemorySlipSink sink = new MemorySlipSink();
+
+        BatchSummary summary = pipeline.run(employees, sink);
+
+        assertEquals(8, summary.succeeded());
+        assertEquals(2, summary.failed());
+        assertEquals(10, summary.total());
+        assertEquals(List.of(3, 8), summary.failures().stream().map(BatchSummary.SlipFailure::index).toList());
+        assertEquals("bad-2", summary.failures().get(0).employeeName());
+        assertEquals("cannot render bad-2", summary.failures().get(0).message());
+        assertEquals(8, sink.getSlips().size());
+    }
+
+    @Test
+    void recordsSinkFailuresAndKeepsGoing() throws Exception {
+        List<String> written = new ArrayList<>();
+        SlipSink sink = new TestSink(emp -> {
+            if (emp.getEmployeeName().equals("emp-4")) {
+                throw new IOException("disk full");
+            }
+            written.add(emp.getEmployeeName());
+        });
+
+        BatchSummary summary = pipeline.run(employees("emp", 6), sink);
+
+        assertEquals(5, summary.succeeded());
+        assertEquals(1, summary.failed());
+        assertEquals(5, summary.failures().get(0).index());
+        assertEquals(List.of("emp-0", "emp-1", "emp-2", "emp-3", "emp-5"), written);
+    }
+
+    @Test
+    void writesSlipsReadBeforeTheSourceFailedAndRethrows() {
+        IllegalStateException broken = new IllegalStateException("corrupt row");
+        MemorySlipSink sink = new MemorySlipSink();
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> pipeline.run(consumer -> {
+            employees("emp", 3).forEach(consumer);
+            throw broken;
+        }, sink));
+
+        assertSame(broken, thrown);
+        assertEquals(3, sink.getSlips().size());
+    }
+
+    @Test
+    void failsInsteadOfHangingWhenTheWriterDies() {
+        SlipSink sink = new TestSink(emp -> {
+            throw new OutOfMemoryError("simulated");
+        });
+
+        IllegalStateException thrown = assertTimeoutPreemptively(Duration.ofSeconds(20),
+                () -> assertThrows(IllegalStateException.class, () -> pipeline.run(employees("emp", 50), sink)));
+
+        assertTrue(thrown.getMessage().contains("Slip writer failed"));
+        assertTrue(thrown.getCause() instanceof OutOfMemoryError);
+    }
+
+    private static List<Employee> employees(String prefix, int count) {
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            employees.add(employee(prefix + "-" + i));
+        }
+        return employees;
+    }
+
+    private static Employee employee(String name) {
+        Employee emp = new Employee();
+        emp.setEmployeeName(name);
+        emp.setEmpId(name);
+        return emp;
+    }
+
+    @FunctionalInterface
+    private interface SlipWrite {
+        void write(Employee emp) throws IOException;
+    }
+
+    private record TestSink(SlipWrite onWrite) implements SlipSink {
+
+        @Override
+        public void write(Employee employee, SlipBuffer pdf) throws IOException {
+            onWrite.write(employee);
+        }
+
+        @Override
+        public String describe() {
+            return "test";
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
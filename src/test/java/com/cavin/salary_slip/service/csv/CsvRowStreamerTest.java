@@ -0,0 +1,218 @@
+package com.cavin.salary_slip.service.csv;
+
+import com.cavin.salary_slip.model.Employee;
+import com.cavin.salary_slip.service.excel.CellDecoders;
+import com.cavin.salary_slip.service.excel.EmployeeSchema;
+import com.cavin.salary_slip.service.excel.RowBindingPlan;
+import com.cavin.salary_slip.service.excel.RowCells;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class CsvRowStreamerTest {
+
+    private static final byte[] BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void bindsColumnsByHeaderAndDecodesRows() throws IOException {
+        List<Employee> employees = stream(write("rows.csv", """
+                Employee Name,Emp_Id,Basic,HRA,Unused
+                Asha Rao,E001,25000,10000.50,x
+                Ravi Kumar,E002,30000,,y
+                """));
+
+        assertEquals(2, employees.size());
+        assertEquals("E001", employees.get(0).getEmpId());
+        assertEquals("Asha Rao", employees.get(0).getEmployeeName());
+        assertEquals(25000d, employees.get(0).getSalaryDetails().getBasic());
+        assertEquals(10000.50d, employees.get(0).getSalaryDetails().getHra());
+        assertEquals("E002", employees.get(1).getEmpId());
+        assertEquals(0d, employees.get(1).getSalaryDetails().getHra());
+    }
+
+    @Test
+    void unquotesFieldsWithDelimitersAndEscapedQuotes() throws IOException {
+        List<Employee> employees = stream(write("quoted.csv", """
+                Emp_Id,Employee Name,Designation
+                E001,"Rao, Asha","Lead ""Payroll"" Engineer"
+                """));
+
+        assertEquals(1, employees.size());
+        assertEquals("Rao, Asha", employees.get(0).getEmployeeName());
+        assertEquals("Lead \"Payroll\" Engineer", employees.get(0).getDesignation());
+    }
+
+    @Test
+    void skipsByteOrderMarkAndHandlesCrLfWithoutTrailingNewline() throws IOException {
+        byte[] body = "Emp_Id,Basic\r\nE001,100\r\nE002,200".getBytes(StandardCharsets.UTF_8);
+        byte[] bytes = new byte[BOM.length + body.length];
+        System.arraycopy(BOM, 0, bytes, 0, BOM.length);
+        System.arraycopy(body, 0, bytes, BOM.length, body.length);
+        Path file = tempDir.resolve("bom.csv");
+        Files.write(file, bytes);
+
+        List<Employee> employees = stream(file);
+
+        assertEquals(2, employees.size());
+        assertEquals("E001", employees.get(0).getEmpId());
+        assertEquals(200d, employees.get(1).getSalaryDetails().getBasic());
+    }
+
+    @Test
+    void leavesUnparseableNumbersToTheCellDecoders() throws IOException {
+        CellDecoders decoders = new CellDecoders();
+        List<Employee> employees = stream(write("odd.csv", """
+                Emp_Id,Basic,HRA
+                E001,"1,500",abc
+                """), decoders);
+
+        assertEquals(1, employees.size());
+        assertEquals(1500d, employees.get(0).getSalaryDetails().getBasic());
+        assertEquals(1, decoders.getErrorCount());
+    }
+
+    @Test
+    void emptyFileHasNoHeaderAndNoRows() throws IOException {
+        List<RowCells> headers = new ArrayList<>();
+        List<Integer> rows = new ArrayList<>();
+
+        CsvRowStreamer.stream(write("empty.csv", "").toFile(),
+                header -> {
+                    headers.add(header);
+                    return null;
+                },
+                row -> rows.add(row.getRowNum()));
+
+        assertEquals(0, headers.size());
+        assertEquals(0, rows.size());
+    }
+
+    @Test
+    void fileCanBeDeletedOnceStreamed() throws IOException {
+        Path file = write("delete.csv", """
+                Emp_Id
+                E001
+                """);
+
+        RowBindingPlan[] plan = new RowBindingPlan[1];
+        String[] empId = new String[1];
+        CsvRowStreamer.stream(file.toFile(),
+                header -> plan[0] = EmployeeSchema.compile(header, Map.of(), new CellDecoders()),
+                row -> empId[0] = plan[0].decode(row).getEmpId());
+
+        assertEquals("E001", empId[0]);
+        Files.delete(file);
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    void blankLinesBecomeEmptyRows() throws IOException {
+        List<Boolean> empty = new ArrayList<>();
+        String[] firstText = new String[1];
+
+        CsvRowStreamer.stream(write("blank.csv", "Emp_Id\n\nE001\n").toFile(),
+                header -> EmployeeSchema.compile(header, Map.of(), new CellDecoders()),
+                row -> {
+                    empty.add(row.isEmpty());
+                    if (firstText[0] == null && !row.isEmpty()) {
+                        firstText[0] = row.text(0);
+                    }
+                });
+
+        assertEquals(List.of(true, false), empty);
+        assertEquals("E001", firstText[0]);
+    }
+
+    @Test
+    void recordSpanningTwoChunksIsCarriedOver() throws IOException {
+        Path file = write("span.csv", """
+                Emp_Id,Employee Name,Basic
+                E001,Asha Rao,25000
+                E002,Ravi Kumar,30000
+                """);
+
+        // The first chunk ends inside "Asha Rao", the second inside "Ravi Kumar"
+        List<Employee> employees = stream(file, 32);
+
+        assertEquals(2, employees.size());
+        assertEquals("Asha Rao", employees.get(0).getEmployeeName());
+        assertEquals(25000d, employees.get(0).getSalaryDetails().getBasic());
+        assertEquals("Ravi Kumar", employees.get(1).getEmployeeName());
+        assertEquals(30000d, employees.get(1).getSalaryDetails().getBasic());
+    }
+
+    @Test
+    void everyChunkBoundaryParsesTheSameRows() throws IOException {
+        byte[] body = ("Emp_Id,Employee Name,Designation,Basic\r\n"
+                + "E001,\"Rao, Asha\",\"Lead \"\"Payroll\"\" Engineer\",25000.50\r\n"
+                + "\r\n"
+                + "E002,Ravi Kumar,\"Multi\r\nline\",30000\r\n"
+                + "E003,Meena,,").getBytes(StandardCharsets.UTF_8);
+        byte[] bytes = new byte[BOM.length + body.length];
+        System.arraycopy(BOM, 0, bytes, 0, BOM.length);
+        System.arraycopy(body, 0, bytes, BOM.length, body.length);
+        Path file = tempDir.resolve("chunks.csv");
+        Files.write(file, bytes);
+
+        List<String> expected = describe(stream(file));
+        assertEquals(3, expected.size());
+        // Chunks smaller than a record also make the buffer grow
+        for (int chunkSize = 4; chunkSize <= bytes.length; chunkSize++) {
+            assertEquals(expected, describe(stream(file, chunkSize)), "chunk size " + chunkSize);
+        }
+    }
+
+    private static List<String> describe(List<Employee> employees) {
+        List<String> rows = new ArrayList<>();
+        for (Employee employee : employees) {
+            rows.add(employee.getEmpId() + "|" + employee.getEmployeeName() + "|" + employee.getDesignation()
+                    + "|" + employee.getSalaryDetails().getBasic());
+        }
+        return rows;
+    }
+
+    private Path write(String name, String content) throws IOException {
+        Path file = tempDir.resolve(name);
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        return file;
+    }
+
+    private List<Employee> stream(Path file) throws IOException {
+        return stream(file, new CellDecoders());
+    }
+
+    private List<Employee> stream(Path file, CellDecoders decoders) throws IOException {
+        return stream(file, 64 * 1024, decoders);
+    }
+
+    private List<Employee> stream(Path file, int chunkSize) throws IOException {
+        return stream(file, chunkSize, new CellDecoders());
+    }
+
+    // Mirrors CsvReaderService: compile the header, skip empty rows, decode the rest
+    private List<Employee> stream(Path file, int chunkSize, CellDecoders decoders) throws IOException {
+        List<Employee> employees = new ArrayList<>();
+        RowBindingPlan[] plan = new RowBindingPlan[1];
+        CsvRowStreamer.stream(file.toFile(), chunkSize,
+                header -> plan[0] = EmployeeSchema.compile(header, Map.of(), decoders),
+                row -> {
+                    if (!row.isEmpty()) {
+                        employees.add(plan[0].decode(row));
+                    }
+                });
+        return employees;
+    }
+}
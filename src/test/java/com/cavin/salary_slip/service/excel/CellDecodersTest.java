@@ -0,0 +1,135 @@
+package com.cavin.salary_slip.service.excel;
+
+import com.cavin.salary_slip.model.DecodeError;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CellDecodersTest {
+
+    private static final LocalDate JUNE_30 = LocalDate.of(2025, 6, 30);
+
+    private final CellDecoders decoders = new CellDecoders();
+    private final RowCells row = new RowCells();
+
+    @Test
+    void decodesAmountsFromEveryNumericShape() {
+        row.clear(4);
+        row.setNumeric(0, 1500.25, false);
+        row.setString(1, "12,345.50");
+        row.setString(2, "  ");
+
+        assertEquals(1500.25, decoders.amount(row, 0, "basic"));
+        assertEquals(12345.5, decoders.amount(row, 1, "hra"));
+        // Blank text and missing cells are zero without an error
+        assertEquals(0.0, decoders.amount(row, 2, "lta"));
+        assertEquals(0.0, decoders.amount(row, 3, "epf"));
+        assertEquals(0, decoders.getErrorCount());
+    }
+
+    @Test
+    void rejectedAmountsAreZeroAndReported() {
+        row.clear(4);
+        row.setString(1, "1e5");
+        row.setBoolean(2, true);
+        row.setError(3, "#DIV/0!");
+
+        assertEquals(0.0, decoders.amount(row, 1, "basic"));
+        assertEquals(0.0, decoders.amount(row, 2, "hra"));
+        assertEquals(0.0, decoders.amount(row, 3, "epf"));
+
+        // Rows are reported 1-based and columns by letter
+        assertEquals(List.of(
+                new DecodeError(5, "B", "basic", "1e5", "Not a number"),
+                new DecodeError(5, "C", "hra", "true", "Not a number"),
+                new DecodeError(5, "D", "epf", "#DIV/0!", "Cell contains an error value")), decoders.getErrors());
+        assertEquals(3, decoders.getErrorCount());
+    }
+
+    @Test
+    void decodesDatesFromCellsSerialsAndText() {
+        double serial = DateUtil.getExcelDate(JUNE_30);
+        row.clear(1);
+        row.setNumeric(0, serial, true);
+        row.setNumeric(1, serial, false);
+        row.setString(2, " 30/06/2025 ");
+
+        assertEquals(JUNE_30, decoders.date(row, 0, "salaryDate"));
+        assertEquals(JUNE_30, decoders.date(row, 1, "salaryDate"));
+        assertEquals(JUNE_30, decoders.date(row, 2, "salaryDate"));
+        assertEquals(0, decoders.getErrorCount());
+    }
+
+    @Test
+    void undecodableDatesAreNullAndReported() {
+        row.clear(0);
+        row.setString(0, "30-06-2025");
+        row.setNumeric(1, -1, false);
+        row.setBoolean(3, false);
+
+        assertNull(decoders.date(row, 0, "salaryDate"));
+        assertNull(decoders.date(row, 1, "salaryDate"));
+        assertNull(decoders.date(row, 2, "salaryDate"));
+        assertNull(decoders.date(row, 3, "salaryDate"));
+
+        assertEquals(List.of(
+                new DecodeError(1, "A", "salaryDate", "30-06-2025", "Unrecognised date format"),
+                new DecodeError(1, "B", "salaryDate", "-1.0", "Not a valid date serial"),
+                new DecodeError(1, "C", "salaryDate", "", "Missing date"),
+                new DecodeError(1, "D", "salaryDate", null, "Not a date")), decoders.getErrors());
+    }
+
+    @Test
+    void repeatedStringsAreClassifiedOnceAndStillReported() {
+        for (int rowNum = 0; rowNum < 3; rowNum++) {
+            row.clear(rowNum);
+            row.setString(0, "Jun 2025");
+            row.setString(1, "not a date");
+            row.setString(2, "2,000");
+            row.setString(3, "n/a");
+
+            assertEquals(LocalDate.of(2025, 6, 1), decoders.date(row, 0, "salaryDate"));
+            assertNull(decoders.date(row, 1, "joiningDate"));
+            assertEquals(2000.0, decoders.amount(row, 2, "basic"));
+            assertEquals(0.0, decoders.amount(row, 3, "hra"));
+        }
+
+        // Misses are memoized too, yet every occurrence is reported
+        assertEquals(2, ((Map<?, ?>) ReflectionTestUtils.getField(decoders, "dateMemo")).size());
+        assertEquals(2, ((Map<?, ?>) ReflectionTestUtils.getField(decoders, "amountMemo")).size());
+        assertEquals(6, decoders.getErrorCount());
+        assertEquals(3, decoders.getErrors().get(4).row());
+    }
+
+    @Test
+    void retainsOnlyTheFirstErrorsButCountsAll() {
+        for (int rowNum = 0; rowNum < CellDecoders.MAX_RETAINED_ERRORS + 10; rowNum++) {
+            row.clear(rowNum);
+            row.setString(0, "x");
+            decoders.amount(row, 0, "basic");
+        }
+
+        assertEquals(CellDecoders.MAX_RETAINED_ERRORS, decoders.getErrors().size());
+        assertEquals(CellDecoders.MAX_RETAINED_ERRORS + 10, decoders.getErrorCount());
+    }
+
+    @Test
+    void textIsTrimmedAndNumbersLoseTheirFraction() {
+        row.clear(0);
+        row.setString(0, "  E001 ");
+        row.setNumeric(1, 1234.0, false);
+        row.setBoolean(2, true);
+
+        assertEquals("E001", decoders.text(row, 0));
+        assertEquals("1234", decoders.text(row, 1));
+        assertEquals("true", decoders.text(row, 2));
+        assertEquals("", decoders.text(row, 3));
+    }
+}
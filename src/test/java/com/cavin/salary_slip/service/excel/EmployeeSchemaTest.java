@@ -0,0 +1,129 @@
+package com.cavin.salary_slip.service.excel;
+
+import com.cavin.salary_slip.model.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EmployeeSchemaTest {
+
+    private final CellDecoders decoders = new CellDecoders();
+
+    @Test
+    void bindsReorderedAndInsertedColumnsByHeader() {
+        RowBindingPlan plan = compile(Map.of(), "Notes", "Basic", "EMP ID", "Remarks", "Employee_Name", "Salary Date");
+
+        Employee employee = plan.decode(row("on leave", "25,000", "E001", "-", "Asha Rao", "30/06/2025"));
+
+        assertFalse(plan.isPositional());
+        assertEquals("E001", employee.getEmpId());
+        assertEquals("Asha Rao", employee.getEmployeeName());
+        assertEquals(25000d, employee.getSalaryDetails().getBasic());
+        assertEquals(LocalDate.of(2025, 6, 30), employee.getSalaryDate());
+        // Inserted columns are not decoded
+        assertEquals(RowBindingPlan.ColumnKind.UNUSED, plan.columnKind(0));
+        assertEquals(RowBindingPlan.ColumnKind.NUMERIC, plan.columnKind(1));
+        assertEquals(RowBindingPlan.ColumnKind.TEXT, plan.columnKind(2));
+        assertEquals(RowBindingPlan.ColumnKind.UNUSED, plan.columnKind(3));
+        assertEquals(RowBindingPlan.ColumnKind.UNUSED, plan.columnKind(40));
+        assertEquals(0, decoders.getErrorCount());
+    }
+
+    @Test
+    void bindsConfiguredAliases() {
+        Map<String, List<String>> aliases = Map.of(
+                "basic", List.of("Basic Pay", "Basic Salary"),
+                "employeeName", List.of("Full Name"));
+        RowBindingPlan plan = compile(aliases, "Full Name", "Emp_Id", "basic salary");
+
+        Employee employee = plan.decode(row("Ravi Kumar", "E002", "30000"));
+
+        assertEquals("Ravi Kumar", employee.getEmployeeName());
+        assertEquals("E002", employee.getEmpId());
+        assertEquals(30000d, employee.getSalaryDetails().getBasic());
+    }
+
+    @Test
+    void configuredAliasesTakePrecedenceOverBuiltInHeaders() {
+        // "HRA" is a built-in header of hra, reassigned to basic here
+        RowBindingPlan plan = compile(Map.of("basic", List.of("HRA")), "Emp_Id", "HRA");
+
+        Employee employee = plan.decode(row("E001", "5000"));
+
+        assertEquals(5000d, employee.getSalaryDetails().getBasic());
+        assertEquals(0d, employee.getSalaryDetails().getHra());
+        assertTrue(plan.getUnboundFields().contains("hra"));
+    }
+
+    @Test
+    void missingHeadersLeaveTheirFieldsUnbound() {
+        RowBindingPlan plan = compile(Map.of(), "Employee Name", "Basic");
+
+        Employee employee = plan.decode(row("Asha Rao", "25000"));
+
+        assertFalse(plan.isPositional());
+        assertTrue(plan.getUnboundFields().contains("empId"));
+        assertTrue(plan.getUnboundFields().contains("salaryDate"));
+        assertFalse(plan.getUnboundFields().contains("employeeName"));
+        assertNull(employee.getEmpId());
+        assertNull(employee.getSalaryDate());
+        assertEquals("Asha Rao", employee.getEmployeeName());
+        assertEquals(0, decoders.getErrorCount());
+    }
+
+    @Test
+    void firstOfTwoMatchingColumnsWins() {
+        RowBindingPlan plan = compile(Map.of(), "Emp_Id", "Employee Id");
+
+        assertEquals("E001", plan.decode(row("E001", "E999")).getEmpId());
+        assertEquals(RowBindingPlan.ColumnKind.UNUSED, plan.columnKind(1));
+    }
+
+    @Test
+    void headerWithoutAnyKnownNameUsesTheFixedLayout() {
+        RowBindingPlan plan = compile(Map.of(), "a", "b", "c");
+
+        Employee employee = plan.decode(row("E001", "Asha Rao", "Engineer"));
+
+        assertTrue(plan.isPositional());
+        assertTrue(plan.getUnboundFields().isEmpty());
+        assertEquals("E001", employee.getEmpId());
+        assertEquals("Asha Rao", employee.getEmployeeName());
+        assertEquals("Engineer", employee.getDesignation());
+    }
+
+    @Test
+    void aliasForUnknownFieldIsRejected() {
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> compile(Map.of("bonus", List.of("Bonus")), "Emp_Id"));
+
+        assertEquals("Unknown field in header aliases: bonus", e.getMessage());
+    }
+
+    @Test
+    void normalizeIgnoresCaseSpacesAndPunctuation() {
+        assertEquals("empid", EmployeeSchema.normalize("Emp. - Id"));
+        assertEquals("empid", EmployeeSchema.normalize("EMP_ID"));
+    }
+
+    private RowBindingPlan compile(Map<String, List<String>> aliases, String... headers) {
+        return EmployeeSchema.compile(row(headers), aliases, decoders);
+    }
+
+    private static RowCells row(String... values) {
+        RowCells cells = new RowCells();
+        cells.clear(0);
+        for (int col = 0; col < values.length; col++) {
+            cells.setString(col, values[col]);
+        }
+        return cells;
+    }
+}
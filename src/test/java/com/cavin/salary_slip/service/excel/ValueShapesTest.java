@@ -0,0 +1,57 @@
+package com.cavin.salary_slip.service.excel;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ValueShapesTest {
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "12,345.50|12345.5",
+            "1,00,000|100000",
+            "-200|-200",
+            "+75|75",
+            "' 7008 '|7008",
+            ".5|0.5",
+            "0.1|0.1",
+            "007|7",
+            "12345678901234567890.5|12345678901234567890.5"
+    })
+    void parsesPlainDecimalAmounts(String text, double expected) {
+        assertEquals(expected, ValueShapes.parseAmount(text));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"1e5", "abc", "", "   ", "-", ".", "1.2.3", "12.3,4", "1-2", "₹500", "12345678901234567890.5.1"})
+    void rejectsOtherAmountShapes(String text) {
+        assertTrue(Double.isNaN(ValueShapes.parseAmount(text)));
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "30/06/2025|2025-06-30",
+            // Days past the end of the month are clamped
+            "31/02/2025|2025-02-28",
+            "Mon Jun 30 00:00:00 IST 2025|2025-06-30",
+            "Jun 2025|2025-06-01",
+            "June 2025|2025-06-01",
+            "SEPTEMBER 2025|2025-09-01"
+    })
+    void parsesAcceptedDateShapes(String text, LocalDate expected) {
+        assertEquals(expected, ValueShapes.parseDate(text));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"2025-06-30", "30-06-2025", "01/13/2025", "00/01/2025", "Jun 25", "Ju 2025", "Foo 2025",
+            "Sept 2025", "Mon Feb 30 00:00:00 IST 2025", "Mon Jun 30 2025", "", "June"})
+    void unrecognisedDatesParseToNull(String text) {
+        assertNull(ValueShapes.parseDate(text));
+    }
+}
@@ -0,0 +1,66 @@
+package com.cavin.salary_slip.service.payroll;
+
+import com.cavin.salary_slip.model.Employee;
+import com.cavin.salary_slip.model.SalaryDetails;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class PayrollColumnsTest {
+
+    @Test
+    void withoutDropsTheGivenRows() {
+        PayrollColumns columns = PayrollColumns.of(List.of(
+                employee("E1", "Engineer", 1000), employee("E2", "Manager", 2000),
+                employee("E3", "Engineer", 3000), employee("E4", "Analyst", 4000)));
+        BitSet failed = new BitSet();
+        failed.set(1);
+        failed.set(3);
+
+        PayrollColumns kept = columns.without(failed);
+
+        assertEquals(2, kept.size());
+        assertEquals("E1", kept.empId(0));
+        assertEquals("E3", kept.empId(1));
+        assertEquals(300_000, kept.amount(PayrollComponent.BASIC, 1));
+        // Designations only held by dropped rows are gone
+        assertEquals(List.of("Engineer"), kept.designations());
+        assertEquals(400_000, RegisterTotals.of(kept).total(PayrollComponent.BASIC));
+    }
+
+    @Test
+    void withoutKeepsDesignationsInOrderOfFirstAppearance() {
+        PayrollColumns columns = PayrollColumns.of(List.of(
+                employee("E1", "Manager", 1000), employee("E2", "Engineer", 2000),
+                employee("E3", "Analyst", 3000)));
+        BitSet failed = new BitSet();
+        failed.set(0);
+
+        PayrollColumns kept = columns.without(failed);
+
+        assertEquals(List.of("Engineer", "Analyst"), kept.designations());
+        assertEquals("Analyst", kept.designation(1));
+    }
+
+    @Test
+    void withoutNothingReturnsTheSameColumns() {
+        PayrollColumns columns = PayrollColumns.of(List.of(employee("E1", "Engineer", 1000)));
+
+        assertSame(columns, columns.without(new BitSet()));
+    }
+
+    private static Employee employee(String empId, String designation, double basic) {
+        SalaryDetails details = new SalaryDetails();
+        details.setBasic(basic);
+        Employee employee = new Employee();
+        employee.setEmpId(empId);
+        employee.setEmployeeName("Name " + empId);
+        employee.setDesignation(designation);
+        employee.setSalaryDetails(details);
+        return employee;
+    }
+}
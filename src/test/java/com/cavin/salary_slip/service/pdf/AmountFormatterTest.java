@@ -0,0 +1,95 @@
+package com.cavin.salary_slip.service.pdf;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class AmountFormatterTest {
+
+    private final AmountFormatter formatter = new AmountFormatter();
+
+    @Test
+    void groupsRupeesInLakhsAndCrores() {
+        assertEquals("0.00", formatter.format(0));
+        assertEquals("0.05", formatter.format(5));
+        assertEquals("1.00", formatter.format(100));
+        assertEquals("999.99", formatter.format(99_999));
+        assertEquals("1,000.00", formatter.format(100_000));
+        assertEquals("12,345.60", formatter.format(1_234_560));
+        assertEquals("1,23,456.00", formatter.format(12_345_600));
+        assertEquals("12,34,567.89", formatter.format(123_456_789));
+        assertEquals("1,00,00,000.00", formatter.format(1_000_000_000));
+    }
+
+    @Test
+    void printsNegativeAmountsWithALeadingSign() {
+        assertEquals("-0.01", formatter.format(-1));
+        assertEquals("-0.50", formatter.format(-50));
+        assertEquals("-1,234.00", formatter.format(-123_400));
+        assertEquals("-12,34,567.89", formatter.format(-123_456_789));
+    }
+
+    @Test
+    void handlesTheExtremes() {
+        assertEquals("-92,23,37,20,36,85,47,758.08", formatter.format(Long.MIN_VALUE));
+        assertEquals("92,23,37,20,36,85,47,758.07", formatter.format(Long.MAX_VALUE));
+        assertEquals(AmountFormatter.MAX_LENGTH, formatter.format(Long.MIN_VALUE).length());
+    }
+
+    @Test
+    void matchesBigDecimalFormatting() {
+        for (int i = 0; i < 10_000; i++) {
+            long paise = ThreadLocalRandom.current().nextLong(-100_000_000_000L, 100_000_000_000L);
+            assertEquals(expected(paise), formatter.format(paise), "paise " + paise);
+        }
+    }
+
+    @Test
+    void appendsToABuilder() {
+        StringBuilder out = new StringBuilder("Net: ");
+        formatter.append(out, 123_456_789).append(" / ");
+        formatter.append(out, -5);
+        assertEquals("Net: 12,34,567.89 / -0.05", out.toString());
+    }
+
+    @Test
+    void returnsTheSameTextForARepeatedAmount() {
+        String first = formatter.format(1_800_00);
+        formatter.format(2_500_00);
+        assertSame(first, formatter.format(1_800_00));
+    }
+
+    @Test
+    void doesNotConfuseAmountsSharingACacheSlot() {
+        // Whatever evicts whom, every amount must still print as itself
+        for (long paise = 0; paise < 100_000; paise += 37) {
+            assertEquals(expected(paise), formatter.format(paise));
+            assertEquals(expected(-paise), formatter.format(-paise));
+        }
+    }
+
+    // Indian grouping built from BigDecimal, as a reference implementation
+    private static String expected(long paise) {
+        BigDecimal amount = BigDecimal.valueOf(paise).movePointLeft(2);
+        String plain = new DecimalFormat("0.00", DecimalFormatSymbols.getInstance(Locale.ROOT))
+                .format(amount.abs());
+        String rupees = plain.substring(0, plain.indexOf('.'));
+        StringBuilder grouped = new StringBuilder();
+        int length = rupees.length();
+        for (int i = 0; i < length; i++) {
+            int fromEnd = length - i;
+            if (i > 0 && (fromEnd == 3 || (fromEnd > 3 && (fromEnd - 3) % 2 == 0))) {
+                grouped.append(',');
+            }
+            grouped.append(rupees.charAt(i));
+        }
+        return (paise < 0 ? "-" : "") + grouped + plain.substring(plain.indexOf('.'));
+    }
+}
@@ -0,0 +1,36 @@
+package com.cavin.salary_slip.service.pdf;
+
+import com.cavin.salary_slip.config.SlipEncryptionProperties;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class SlipEncryptionTest {
+
+    @Test
+    void fingerprintDoesNotContainTheOwnerPassword() {
+        String fingerprint = SlipEncryption.of(properties("s3cret-owner", 256)).fingerprint();
+
+        assertFalse(fingerprint.contains("s3cret-owner"));
+        assertEquals(fingerprint, SlipEncryption.of(properties("s3cret-owner", 256)).fingerprint());
+    }
+
+    @Test
+    void fingerprintChangesWithTheOwnerPasswordAndKeyLength() {
+        String fingerprint = SlipEncryption.of(properties("owner-one", 256)).fingerprint();
+
+        assertNotEquals(fingerprint, SlipEncryption.of(properties("owner-two", 256)).fingerprint());
+        assertNotEquals(fingerprint, SlipEncryption.of(properties("owner-one", 128)).fingerprint());
+    }
+
+    private static SlipEncryptionProperties properties(String ownerPassword, int keyLength) {
+        SlipEncryptionProperties properties = new SlipEncryptionProperties();
+        properties.setEnabled(true);
+        properties.setOwnerPassword(ownerPassword);
+        properties.setUserPassword(SlipEncryptionProperties.PASSWORD_PAN);
+        properties.setKeyLength(keyLength);
+        return properties;
+    }
+}
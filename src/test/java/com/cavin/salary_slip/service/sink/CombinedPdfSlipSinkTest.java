@@ -0,0 +1,69 @@
+package com.cavin.salary_slip.service.sink;
+
+import com.cavin.salary_slip.model.Employee;
+import com.cavin.salary_slip.service.pdf.SlipBuffer;
+import com.cavin.salary_slip.service.pdf.SlipBufferPool;
+import com.itextpdf.text.Document;
+import com.itextpdf.text.Paragraph;
+import com.itextpdf.text.pdf.PdfReader;
+import com.itextpdf.text.pdf.PdfWriter;
+import com.itextpdf.text.pdf.SimpleBookmark;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class CombinedPdfSlipSinkTest {
+
+    private final SlipBufferPool bufferPool = new SlipBufferPool(2);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void appendsOnePagePerSlipWithBookmarks() throws Exception {
+        Path target = tempDir.resolve("SalarySlips.pdf");
+        try (CombinedPdfSlipSink sink = new CombinedPdfSlipSink(target, true)) {
+            write(sink, "E001", "Asha Rao");
+            write(sink, "E002", "Ravi Kumar");
+        }
+
+        PdfReader reader = new PdfReader(Files.readAllBytes(target));
+        try {
+            assertEquals(2, reader.getNumberOfPages());
+            List<HashMap<String, Object>> outlines = SimpleBookmark.getBookmark(reader);
+            assertEquals("E001 - Asha Rao", outlines.get(0).get("Title"));
+            assertEquals("E002 - Ravi Kumar", outlines.get(1).get("Title"));
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Test
+    void batchWithoutSlipsLeavesNoFile() throws Exception {
+        Path target = tempDir.resolve("SalarySlips.pdf");
+        new CombinedPdfSlipSink(target, true).close();
+
+        assertFalse(Files.exists(target));
+    }
+
+    private void write(SlipSink sink, String empId, String name) throws Exception {
+        Employee emp = new Employee();
+        emp.setEmpId(empId);
+        emp.setEmployeeName(name);
+        try (SlipBuffer pdf = bufferPool.acquire()) {
+            Document document = new Document();
+            PdfWriter.getInstance(document, pdf);
+            document.open();
+            document.add(new Paragraph(name));
+            document.close();
+            sink.write(emp, pdf);
+        }
+    }
+}